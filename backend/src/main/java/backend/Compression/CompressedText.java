@@ -0,0 +1,83 @@
+package backend.Compression;
+
+import org.hibernate.annotations.Immutable;
+
+import java.util.Objects;
+
+/**
+ * CompressedText
+ *
+ * Value type used for long text columns (Post.content, Comment.content)
+ *
+ * Holds the stored column value and only decompresses it the first time
+ * the text is actually read. Lists that never touch the body (or rows that
+ * are loaded and saved unchanged) never pay the inflate cost.
+ *
+ * Immutable: setting new content creates a new instance.
+ */
+@Immutable
+public final class CompressedText {
+
+    // Value as stored in the database (null when created from Java code)
+    private final String stored;
+    private final TextCompressor compressor;
+
+    // Decoded text (computed lazily for loaded rows)
+    private volatile String text;
+
+    private CompressedText(String stored, String text, TextCompressor compressor) {
+        this.stored = stored;
+        this.text = text;
+        this.compressor = compressor;
+    }
+
+    // Wrap plain text coming from the application (e.g. a request body)
+    public static CompressedText of(String text) {
+        return text == null ? null : new CompressedText(null, text, null);
+    }
+
+    // Wrap a value read from the database
+    static CompressedText fromStored(String stored, TextCompressor compressor) {
+        if (stored == null) {
+            return null;
+        }
+        // Uncompressed rows need no decoding at all
+        String text = TextCompressor.isCompressed(stored) ? null : stored;
+        return new CompressedText(stored, text, compressor);
+    }
+
+    public String text() {
+        String result = text;
+        if (result == null) {
+            result = compressor.decode(stored);
+            text = result;
+        }
+        return result;
+    }
+
+    // Value to write back: unchanged rows keep their stored form (no recompression)
+    String toStored(TextCompressor compressor) {
+        return stored != null ? stored : compressor.encode(text);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CompressedText other)) return false;
+
+        // Fast path: same stored bytes, no need to decompress
+        if (stored != null && stored.equals(other.stored)) return true;
+
+        return Objects.equals(text(), other.text());
+    }
+
+    @Override
+    public int hashCode() {
+        return text().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return text();
+    }
+}
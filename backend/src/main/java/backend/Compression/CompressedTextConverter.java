@@ -0,0 +1,33 @@
+package backend.Compression;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * CompressedTextConverter
+ *
+ * JPA converter between CompressedText (entity field) and the TEXT column
+ *
+ * Created by Hibernate through Spring's bean container, so the
+ * TextCompressor bean is injected through the constructor.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<CompressedText, String> {
+
+    private final TextCompressor compressor;
+
+    public CompressedTextConverter(TextCompressor compressor) {
+        this.compressor = compressor;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(CompressedText attribute) {
+        return attribute == null ? null : attribute.toStored(compressor);
+    }
+
+    @Override
+    public CompressedText convertToEntityAttribute(String dbData) {
+        // No decompression here: it happens on first access
+        return CompressedText.fromStored(dbData, compressor);
+    }
+}
@@ -0,0 +1,234 @@
+package backend.Compression;
+
+import backend.DTO.CompressionStatsDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * TextCompressor
+ *
+ * Purpose: Encodes long post/comment bodies into a compressed form for storage
+ *
+ * Stored format:
+ * - Short bodies (below the threshold) are stored as-is
+ * - Long bodies are stored as: MARKER + rawLength + ":" + Base64(deflate(UTF-8 bytes))
+ *
+ * Notes:
+ * - Deflater/Inflater instances hold native memory, so they are pooled and reused
+ * - Compression is opt-in (blog.storage.compression.enabled), but decoding always
+ *   works, so switching the feature off never makes old rows unreadable
+ */
+@Component
+public class TextCompressor {
+
+    // Control character prefix: never produced by normal typing
+    public static final String MARKER = "\u0001z:";
+
+    private final boolean enabled;
+    private final int thresholdBytes;
+    private final int level;
+
+    private final BlockingQueue<Deflater> deflaters;
+    private final BlockingQueue<Inflater> inflaters;
+
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final boolean cpuTimeSupported;
+
+    // Running statistics (reported via CompressionStatsDTO)
+    private final LongAdder compressedCount = new LongAdder();
+    private final LongAdder storedRawCount = new LongAdder();
+    private final LongAdder rawBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+    private final LongAdder compressNanos = new LongAdder();
+    private final LongAdder decompressedCount = new LongAdder();
+    private final LongAdder decompressNanos = new LongAdder();
+
+    public TextCompressor(@Value("${blog.storage.compression.enabled:false}") boolean enabled,
+                          @Value("${blog.storage.compression.threshold-bytes:1024}") int thresholdBytes,
+                          @Value("${blog.storage.compression.level:6}") int level,
+                          @Value("${blog.storage.compression.pool-size:16}") int poolSize) {
+        this.enabled = enabled;
+        this.thresholdBytes = thresholdBytes;
+        this.level = level;
+        this.deflaters = new ArrayBlockingQueue<>(poolSize);
+        this.inflaters = new ArrayBlockingQueue<>(poolSize);
+        this.cpuTimeSupported = threadMXBean.isCurrentThreadCpuTimeSupported();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getThresholdBytes() {
+        return thresholdBytes;
+    }
+
+    // ========================================
+    // Encoding (Java text → stored column value)
+    // ========================================
+
+    public String encode(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        // Text that happens to look like our format must be compressed,
+        // otherwise it would be misread on the way back
+        boolean looksEncoded = isCompressed(text);
+
+        // A char is at least one UTF-8 byte, so length() is a cheap lower bound
+        if (!looksEncoded && (!enabled || text.length() < thresholdBytes)) {
+            return text;
+        }
+
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+
+        long start = cpuTime();
+        byte[] deflated = deflate(raw);
+        String stored = MARKER + raw.length + ":" + Base64.getEncoder().encodeToString(deflated);
+
+        // CPU time counts for every attempt, including the ones stored raw below
+        compressNanos.add(cpuTime() - start);
+
+        // Not worth it (e.g. already-compressed or random data)
+        if (!looksEncoded && stored.length() >= text.length()) {
+            storedRawCount.increment();
+            return text;
+        }
+
+        compressedCount.increment();
+        rawBytes.add(raw.length);
+        compressedBytes.add(stored.length());
+        return stored;
+    }
+
+    // ========================================
+    // Decoding (stored column value → Java text)
+    // ========================================
+
+    public static boolean isCompressed(String stored) {
+        return stored != null && stored.startsWith(MARKER);
+    }
+
+    public String decode(String stored) {
+        if (!isCompressed(stored)) {
+            return stored;
+        }
+
+        int separator = stored.indexOf(':', MARKER.length());
+        int rawLength = Integer.parseInt(stored.substring(MARKER.length(), separator));
+        byte[] deflated = Base64.getDecoder().decode(stored.substring(separator + 1));
+
+        long start = cpuTime();
+        byte[] raw = inflate(deflated, rawLength);
+        decompressNanos.add(cpuTime() - start);
+        decompressedCount.increment();
+
+        return new String(raw, StandardCharsets.UTF_8);
+    }
+
+    // ========================================
+    // Pooled zlib helpers
+    // ========================================
+
+    private byte[] deflate(byte[] raw) {
+        Deflater deflater = deflaters.poll();
+        if (deflater == null) {
+            deflater = new Deflater(level);
+        }
+
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+
+            byte[] out = new byte[Math.max(64, raw.length / 2)];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == out.length) {
+                    out = Arrays.copyOf(out, out.length * 2);
+                }
+                length += deflater.deflate(out, length, out.length - length);
+            }
+            return Arrays.copyOf(out, length);
+        } finally {
+            deflater.reset();
+            if (!deflaters.offer(deflater)) {
+                deflater.end();
+            }
+        }
+    }
+
+    private byte[] inflate(byte[] deflated, int rawLength) {
+        Inflater inflater = inflaters.poll();
+        if (inflater == null) {
+            inflater = new Inflater();
+        }
+
+        try {
+            inflater.setInput(deflated);
+            byte[] out = new byte[rawLength];
+            int length = 0;
+            while (length < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(out, length, rawLength - length);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += n;
+            }
+            if (length != rawLength) {
+                throw new IllegalStateException("Corrupt compressed text: expected "
+                        + rawLength + " bytes, got " + length);
+            }
+            return out;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed text", e);
+        } finally {
+            inflater.reset();
+            if (!inflaters.offer(inflater)) {
+                inflater.end();
+            }
+        }
+    }
+
+    private long cpuTime() {
+        return cpuTimeSupported ? threadMXBean.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    // ========================================
+    // Statistics
+    // ========================================
+
+    public CompressionStatsDTO getStats() {
+        long raw = rawBytes.sum();
+        long compressed = compressedBytes.sum();
+        long compressions = compressedCount.sum();
+        long skipped = storedRawCount.sum();
+        long attempts = compressions + skipped;
+        long decompressions = decompressedCount.sum();
+
+        return new CompressionStatsDTO(
+                enabled,
+                thresholdBytes,
+                compressions,
+                skipped,
+                raw,
+                compressed,
+                compressed == 0 ? 0.0 : (double) raw / compressed,
+                attempts == 0 ? 0 : compressNanos.sum() / attempts / 1_000,
+                decompressions,
+                decompressions == 0 ? 0 : decompressNanos.sum() / decompressions / 1_000
+        );
+    }
+}
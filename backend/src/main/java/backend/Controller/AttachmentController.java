@@ -0,0 +1,315 @@
+package backend.Controller;
+
+import backend.Model.Attachment;
+import backend.Service.AttachmentService;
+import backend.Storage.ContentStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/posts/{postId}/attachments")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = {"ETag", "Content-Range", "Accept-Ranges"})
+public class AttachmentController {
+
+    // Tomcat request attributes for kernel sendfile (see Tomcat's Globals.SENDFILE_*)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final AttachmentService attachmentService;
+
+    public AttachmentController(AttachmentService attachmentService) {
+        this.attachmentService = attachmentService;
+    }
+
+    /**
+     * ⬆️ UPLOAD ATTACHMENT
+     *
+     * The request body IS the file (not multipart), so it can be streamed
+     * straight to disk.
+     *
+     * Endpoint: POST /api/posts/{postId}/attachments?filename=photo.png
+     * Header: Content-Type = the file's MIME type (e.g. image/png)
+     *
+     * Returns:
+     * - 201 CREATED with the attachment metadata
+     * - 404 NOT FOUND if the post doesn't exist
+     * - 413 PAYLOAD TOO LARGE if over blog.attachments.max-size-bytes
+     */
+    @PostMapping
+    public ResponseEntity<?> uploadAttachment(@PathVariable Long postId,
+                                              @RequestParam(required = false) String filename,
+                                              HttpServletRequest request) throws IOException {
+        Optional<Attachment> result;
+        try {
+            result = attachmentService.upload(postId, filename, request.getContentType(), request.getInputStream());
+        } catch (ContentStore.TooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(e.getMessage());
+        }
+
+        if (result.isPresent()) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(result.get());
+        } else {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * 📋 LIST ATTACHMENTS OF A POST
+     */
+    @GetMapping
+    public List<Attachment> getAttachments(@PathVariable Long postId) {
+        return attachmentService.getAttachments(postId);
+    }
+
+    /**
+     * ⬇️ DOWNLOAD ATTACHMENT
+     *
+     * Endpoint: GET /api/posts/{postId}/attachments/{attachmentId}
+     *
+     * - ETag is the content hash, so If-None-Match gives 304 without touching the file
+     * - Range: bytes=a-b / a- / -n gives 206 Partial Content (single range)
+     * - The bytes are handed to Tomcat's sendfile when available, otherwise
+     *   copied with FileChannel.transferTo (no heap buffers per request)
+     */
+    @GetMapping("/{attachmentId}")
+    public void downloadAttachment(@PathVariable Long postId,
+                                   @PathVariable Long attachmentId,
+                                   HttpServletRequest request,
+                                   HttpServletResponse response) throws IOException {
+
+        Optional<Attachment> result = attachmentService.getAttachment(postId, attachmentId);
+        if (result.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        Attachment attachment = result.get();
+        Path file = attachmentService.getFile(attachment);
+        long size = attachment.getSize();
+        String etag = "\"" + attachment.getContentHash() + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=86400");
+        // Uploaded bytes are never trusted as active content: no MIME sniffing,
+        // and if a browser renders them anyway, no scripts, forms or same-origin access
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setHeader("Content-Security-Policy", "sandbox");
+
+        // 1. Client already has this exact content
+        if (etagMatches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        // 2. Work out which bytes to send
+        long start = 0;
+        long end = size; // exclusive
+
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            long[] bounds = parseRange(range, size);
+            if (bounds != null && bounds.length == 0) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds != null) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE,
+                        "bytes " + start + "-" + (end - 1) + "/" + size);
+            }
+        }
+
+        // 3. Headers: only raster images whose bytes match their type are shown inline
+        String contentType = attachment.getContentType();
+        String inlineType = inlineImageType(contentType, readHead(file));
+        ContentDisposition disposition = (inlineType != null
+                ? ContentDisposition.inline()
+                : ContentDisposition.attachment())
+                .filename(attachment.getFilename(), StandardCharsets.UTF_8)
+                .build();
+        if (inlineType != null) {
+            contentType = inlineType;
+        }
+
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, disposition.toString());
+        response.setContentLengthLong(end - start);
+
+        if ("HEAD".equals(request.getMethod()) || end == start) {
+            return;
+        }
+
+        // 4. Body: kernel sendfile when Tomcat offers it
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+
+        // ... otherwise let the file channel push the bytes to the response
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+            }
+        }
+    }
+
+    /**
+     * 🗑️ DELETE ATTACHMENT
+     */
+    @DeleteMapping("/{attachmentId}")
+    public ResponseEntity<?> deleteAttachment(@PathVariable Long postId, @PathVariable Long attachmentId) {
+        if (attachmentService.deleteAttachment(postId, attachmentId)) {
+            return ResponseEntity.ok("Attachment deleted");
+        } else {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // ========================================
+    // Helpers
+    // ========================================
+
+    /*
+        Raster image type that may be shown inline, or null (→ download)
+        - The declared type must be png/jpeg/gif/webp AND the file must start
+          with that format's magic bytes
+        - Never SVG: it is XML that can carry scripts
+    */
+    static String inlineImageType(String declaredType, byte[] head) {
+        if (declaredType == null) {
+            return null;
+        }
+        String type = declaredType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        String sniffed = sniffImageType(head);
+        return sniffed != null && sniffed.equals(type) ? sniffed : null;
+    }
+
+    private static String sniffImageType(byte[] head) {
+        if (startsWith(head, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "image/png";
+        }
+        if (startsWith(head, 0, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(head, 0, 'G', 'I', 'F', '8', '7', 'a') || startsWith(head, 0, 'G', 'I', 'F', '8', '9', 'a')) {
+            return "image/gif";
+        }
+        if (startsWith(head, 0, 'R', 'I', 'F', 'F') && startsWith(head, 8, 'W', 'E', 'B', 'P')) {
+            return "image/webp";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] head, int offset, int... magic) {
+        if (head.length < offset + magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if ((head[offset + i] & 0xFF) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // First bytes of a file (enough for every magic number above)
+    private static byte[] readHead(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return in.readNBytes(12);
+        }
+    }
+
+    static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+        Parse a single "bytes=" range
+
+        Returns:
+        - {start, endExclusive} for a valid range
+        - empty array if the range can't be satisfied (→ 416)
+        - null if the header should be ignored (→ full 200 response)
+    */
+    static long[] parseRange(String header, long size) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null; // other units or multiple ranges: send the whole file
+        }
+
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+
+            if (first.isEmpty()) {
+                // Suffix range: last N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || size == 0) {
+                    return new long[0];
+                }
+                return new long[]{Math.max(0, size - suffix), size};
+            }
+
+            long start = Long.parseLong(first);
+            if (start >= size) {
+                return new long[0];
+            }
+
+            long end = last.isEmpty() ? size : Math.min(Long.parseLong(last) + 1, size);
+            return end <= start ? null : new long[]{start, end};
+
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
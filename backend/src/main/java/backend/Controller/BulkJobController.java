@@ -0,0 +1,50 @@
+package backend.Controller;
+
+import backend.DTO.BulkJobDTO;
+import backend.Service.BulkJobService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/bulk-jobs")
+@CrossOrigin(origins = "http://localhost:3000")
+public class BulkJobController {
+
+    private final BulkJobService bulkJobService;
+
+    public BulkJobController(BulkJobService bulkJobService) {
+        this.bulkJobService = bulkJobService;
+    }
+
+    /**
+     * 📦 BULK JOB PROGRESS
+     *
+     * Endpoint: GET /api/bulk-jobs/{id}
+     *
+     * Returns status (RUNNING / DONE / FAILED), total, processed and affected rows
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<BulkJobDTO> getJob(@PathVariable String id) {
+        return bulkJobService.getJob(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /*
+        Shared response for the bulk endpoints:
+        - finished inline → 200 OK (500 if it failed)
+        - still running   → 202 ACCEPTED, Location = progress URL
+    */
+    static ResponseEntity<BulkJobDTO> toResponse(BulkJobDTO job) {
+        return switch (job.getStatus()) {
+            case DONE -> ResponseEntity.ok(job);
+            case FAILED -> ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(job);
+            case RUNNING -> ResponseEntity.accepted()
+                    .location(URI.create("/api/bulk-jobs/" + job.getId()))
+                    .body(job);
+        };
+    }
+}
@@ -1,8 +1,14 @@
 package backend.Controller;
 
+import backend.DTO.BulkJobDTO;
+import backend.DTO.BulkRequestDTO;
+import backend.DTO.CommentNodeDTO;
+import backend.DTO.CommentThreadPageDTO;
 import backend.Model.Comment;
-import backend.Repository.CommentRepository;
+import backend.Service.BulkAdminService;
+import backend.Service.CommentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
 
@@ -11,19 +17,75 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:3000") // Ensure Port matches React
 public class CommentController {
 
+    private static final int MAX_THREADS_PER_PAGE = 100;
+
+    @Autowired
+    private CommentService commentService;
+
     @Autowired
-    private CommentRepository commentRepository;
+    private BulkAdminService bulkAdminService;
 
     // 👇 CHANGED: Get comments for a SPECIFIC post
     // URL Example: /api/comments/post/5
+    // Add ?includeAuthors=true to get each comment's authorName as well
     @GetMapping("/post/{postId}")
-    public List<Comment> getCommentsByPost(@PathVariable Long postId) {
-        return commentRepository.findByPostId(postId);
+    public List<Comment> getCommentsByPost(@PathVariable Long postId,
+                                           @RequestParam(defaultValue = "false") boolean includeAuthors) {
+        return commentService.getCommentsByPost(postId, includeAuthors);
+    }
+
+    // Threaded view: a page of top-level comments with all their replies
+    // URL Example: /api/comments/post/5/threads?limit=20&after=<nextCursor>
+    @GetMapping("/post/{postId}/threads")
+    public ResponseEntity<CommentThreadPageDTO> getThreadPage(@PathVariable Long postId,
+                                                              @RequestParam(required = false) String after,
+                                                              @RequestParam(defaultValue = "20") int limit,
+                                                              @RequestParam(defaultValue = "false") boolean includeAuthors) {
+        if (limit <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(commentService.getThreadPage(
+                postId, after, Math.min(limit, MAX_THREADS_PER_PAGE), includeAuthors));
+    }
+
+    // Threaded view: every comment of a post as a tree
+    // URL Example: /api/comments/post/5/tree
+    @GetMapping("/post/{postId}/tree")
+    public List<CommentNodeDTO> getThread(@PathVariable Long postId,
+                                          @RequestParam(defaultValue = "false") boolean includeAuthors) {
+        return commentService.getThread(postId, includeAuthors);
+    }
+
+    // One comment with all its replies
+    // URL Example: /api/comments/12/replies
+    @GetMapping("/{id}/replies")
+    public ResponseEntity<CommentNodeDTO> getSubtree(@PathVariable Long id,
+                                                     @RequestParam(defaultValue = "false") boolean includeAuthors) {
+        return commentService.getSubtree(id, includeAuthors)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     // ADD Comment (Now includes postId)
+    // Set parentId to reply to another comment
+    // Goes through the service so the write is recorded in the change journal
     @PostMapping
-    public Comment addComment(@RequestBody Comment comment) {
-        return commentRepository.save(comment);
+    public ResponseEntity<?> addComment(@RequestBody Comment comment) {
+        try {
+            return ResponseEntity.ok(commentService.addComment(comment));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // BULK DELETE comments by ids, or by userId and/or postId
+    // Body: {"ids": [1, 2]}  or  {"userId": 7}  or  {"postId": 3}
+    // 200 with the finished job, or 202 with a job to poll at /api/bulk-jobs/{id}
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<BulkJobDTO> bulkDeleteComments(@RequestBody BulkRequestDTO request) {
+        if (!request.hasIds() && request.getUserId() == null && request.getPostId() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return BulkJobController.toResponse(bulkAdminService.deleteComments(request));
     }
-}
\ No newline at end of file
+}
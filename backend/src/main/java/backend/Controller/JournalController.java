@@ -0,0 +1,60 @@
+package backend.Controller;
+
+import backend.DTO.JournalPageDTO;
+import backend.Journal.ChangeEvent;
+import backend.Journal.ChangeJournal;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/journal")
+@CrossOrigin(origins = "http://localhost:3000")
+public class JournalController {
+
+    private static final int MAX_LIMIT = 1000;
+    private static final long MAX_WAIT_MS = 30_000;
+
+    private final ChangeJournal changeJournal;
+
+    public JournalController(ChangeJournal changeJournal) {
+        this.changeJournal = changeJournal;
+    }
+
+    /**
+     * 📜 TAIL THE CHANGE JOURNAL
+     *
+     * Returns changes (create/update/delete of posts, comments, users) in order,
+     * starting at the given offset.
+     *
+     * Endpoint: GET /api/journal?from=0&limit=100&waitMs=0
+     *
+     * - from: first offset wanted (use nextOffset from the previous response)
+     * - limit: max entries (up to 1000)
+     * - waitMs: if nothing new yet, wait up to this long (long polling, max 30s)
+     */
+    @GetMapping
+    public ResponseEntity<JournalPageDTO> tail(@RequestParam(defaultValue = "0") long from,
+                                               @RequestParam(defaultValue = "100") int limit,
+                                               @RequestParam(defaultValue = "0") long waitMs)
+            throws InterruptedException {
+
+        if (from < 0 || limit <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        if (waitMs > 0) {
+            changeJournal.awaitEntries(from, Math.min(waitMs, MAX_WAIT_MS));
+        }
+
+        List<ChangeEvent> entries = changeJournal.read(from, Math.min(limit, MAX_LIMIT));
+        long earliest = changeJournal.getEarliestOffset();
+
+        long nextOffset = entries.isEmpty()
+                ? Math.max(from, earliest)
+                : entries.get(entries.size() - 1).offset() + 1;
+
+        return ResponseEntity.ok(new JournalPageDTO(entries, nextOffset, earliest, changeJournal.getNextOffset()));
+    }
+}
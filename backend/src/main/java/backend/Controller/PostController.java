@@ -1,7 +1,13 @@
 package backend.Controller;
 
+import backend.Compression.TextCompressor;
+import backend.DTO.BulkJobDTO;
+import backend.DTO.BulkRequestDTO;
+import backend.DTO.CompressionStatsDTO;
 import backend.Model.Post;
+import backend.Service.BulkAdminService;
 import backend.Service.PostService;
+import backend.Service.UpdateResult;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,10 +21,15 @@ import java.util.List;
 public class PostController {
 
     private final PostService postService;
+    private final BulkAdminService bulkAdminService;
+    private final TextCompressor textCompressor;
 
     @Autowired
-    public PostController(PostService postService) {
+    public PostController(PostService postService, BulkAdminService bulkAdminService,
+                          TextCompressor textCompressor) {
         this.postService = postService;
+        this.bulkAdminService = bulkAdminService;
+        this.textCompressor = textCompressor;
     }
 
     /**
@@ -61,12 +72,36 @@ public class PostController {
 
     /**
      * ✏️ UPDATE POST
+     *
+     * PUT and PATCH both change only the fields that are sent (title, content).
+     * Send the "version" you loaded to be protected from overwriting someone
+     * else's edit.
+     *
+     * Returns:
+     * - 200 OK with the updated post (including its new "version") if updated
+     * - 400 BAD REQUEST if a sent field is blank
+     * - 404 NOT FOUND if the post doesn't exist
+     * - 409 CONFLICT if the post was changed since that version
      */
-    @PutMapping("/{id}")
-    public ResponseEntity<Post> updatePost(@PathVariable Long id, @RequestBody Post postDetails) {
-        return postService.updatePost(id, postDetails)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    @RequestMapping(value = "/{id}", method = {RequestMethod.PUT, RequestMethod.PATCH})
+    public ResponseEntity<?> updatePost(@PathVariable Long id, @RequestBody Post postDetails) {
+        if (postDetails.getTitle() != null && postDetails.getTitle().trim().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (postDetails.getContent() != null && postDetails.getContent().trim().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        UpdateResult result = postService.updatePost(id, postDetails);
+        return switch (result) {
+            // Re-read so the client gets the new version for its next edit
+            case UPDATED -> postService.getPostById(id)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+            case CONFLICT -> ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Post was changed by someone else. Reload and try again.");
+            case NOT_FOUND -> ResponseEntity.notFound().build();
+        };
     }
 
     /**
@@ -80,4 +115,39 @@ public class PostController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    /**
+     * 🧹 BULK DELETE POSTS
+     *
+     * Deletes many posts (and their comments and attachments) at once.
+     *
+     * Endpoint: POST /api/posts/bulk-delete
+     * Body: {"ids": [1, 2, 3]}  or  {"author": "spammer"}
+     *
+     * Returns:
+     * - 200 OK with the finished job (small id lists)
+     * - 202 ACCEPTED with a job to poll at /api/bulk-jobs/{id} (large jobs)
+     * - 400 BAD REQUEST if neither ids nor author are given
+     */
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<BulkJobDTO> bulkDeletePosts(@RequestBody BulkRequestDTO request) {
+        boolean hasAuthor = request.getAuthor() != null && !request.getAuthor().trim().isEmpty();
+        if (!request.hasIds() && !hasAuthor) {
+            return ResponseEntity.badRequest().build();
+        }
+        return BulkJobController.toResponse(bulkAdminService.deletePosts(request));
+    }
+
+    /**
+     * 🗜️ BODY COMPRESSION STATISTICS
+     *
+     * Compression ratio and CPU cost of compressed post/comment bodies
+     * (since server start, including the background migration)
+     *
+     * Endpoint: GET /api/posts/compression/stats
+     */
+    @GetMapping("/compression/stats")
+    public ResponseEntity<CompressionStatsDTO> getCompressionStats() {
+        return ResponseEntity.ok(textCompressor.getStats());
+    }
 }
\ No newline at end of file
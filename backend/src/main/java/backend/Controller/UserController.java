@@ -1,17 +1,36 @@
 package backend.Controller;
 
 
+import backend.DTO.ActivityFeedPageDTO;
+import backend.DTO.ActivityPointDTO;
+import backend.DTO.AuthorActivityDTO;
+import backend.DTO.BulkJobDTO;
+import backend.DTO.BulkRequestDTO;
 import backend.DTO.DashboardStatsDTO;
+import backend.DTO.UserPageDTO;
+import backend.DTO.UserSummaryDTO;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 //add this to for the  log in
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import java.util.Optional;
 
+import backend.Model.ActivityRollup;
 import backend.Model.User;
 import backend.Repository.PostRepository;
+import backend.Service.ActivityFeedService;
+import backend.Service.ActivityRollupService;
+import backend.Service.BulkAdminService;
+import backend.Service.UpdateResult;
 import backend.Service.UserService;
 
 @RestController
@@ -19,13 +38,27 @@ import backend.Service.UserService;
 @CrossOrigin(origins = "http://localhost:3000") //Allows requests from the React frontend running on localhost:3000
 public class UserController {
 
+    // Max ids accepted by one batch lookup
+    private static final int MAX_LOOKUP_IDS = 500;
+
+    // Max rows per page of the admin listing
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final UserService userService;
+    private final BulkAdminService bulkAdminService;
     private final PostRepository postRepository;
+    private final ActivityRollupService activityRollupService;
+    private final ActivityFeedService activityFeedService;
 
     //Gives the class a service (Dependency Injection)
-    public UserController(UserService userService, PostRepository postRepository) {
+    public UserController(UserService userService, BulkAdminService bulkAdminService,
+                          PostRepository postRepository, ActivityRollupService activityRollupService,
+                          ActivityFeedService activityFeedService) {
         this.userService = userService;
+        this.bulkAdminService = bulkAdminService;
         this.postRepository = postRepository;
+        this.activityRollupService = activityRollupService;
+        this.activityFeedService = activityFeedService;
     }
 
 
@@ -56,11 +89,75 @@ public class UserController {
      * 
      * @param user the User object to be created, deserialized from the JSON request body
      * @return the created User entity with the auto-generated ID assigned by the database
+     *         (409 CONFLICT if the username or email is already taken)
      */
 
     @PostMapping //Tells Spring to listen for HTTP POST requests to /api/users. POST is like "creating" or "submitting" data (vs. GET for "fetching").
-    public User createUser(@RequestBody User user){ //Analogy: Like a form submission. The @RequestBody is like a "decoder" that turns the incoming JSON (e.g., {"username": "alice", "email": "alice@blog.com"}) into a User object, just as a librarian scans your ID card to create your profile.
-        return userService.createUser(user);
+    public ResponseEntity<?> createUser(@RequestBody User user){ //Analogy: Like a form submission. The @RequestBody is like a "decoder" that turns the incoming JSON (e.g., {"username": "alice", "email": "alice@blog.com"}) into a User object, just as a librarian scans your ID card to create your profile.
+        if (user.getUsername() != null && !userService.isUsernameAvailable(user.getUsername())) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Username is already taken");
+        }
+        try {
+            return ResponseEntity.ok(userService.createUser(user));
+        } catch (DataIntegrityViolationException e) {
+            // Unique index on username/email (e.g. two sign-ups racing)
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Username or email is already in use");
+        }
+    }
+
+    /**
+     * USERNAME AVAILABILITY
+     *
+     * Used by the registration form while typing
+     *
+     * Endpoint: GET /api/users/username-available?username=alice
+     *
+     * Returns:
+     * - 200 OK with {"username": "alice", "available": true|false}
+     * - 400 BAD REQUEST for a blank username
+     */
+    @GetMapping("/username-available")
+    public ResponseEntity<Map<String, Object>> isUsernameAvailable(@RequestParam String username) {
+        if (username.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(Map.of(
+                "username", username,
+                "available", userService.isUsernameAvailable(username)));
+    }
+
+    /**
+     * PAGED USER LISTING (admin)
+     *
+     * Filtered and sorted on the server, without password hashes
+     *
+     * Endpoint: GET /api/users/page?usernamePrefix=al&role=ADMIN&sort=username&limit=50
+     * - email: exact match
+     * - sort: "id" (default) or "username", desc=true for descending
+     * - after: nextCursor from the previous page
+     *
+     * Returns:
+     * - 200 OK with the page and the cursor of the next one
+     * - 400 BAD REQUEST for a bad sort, cursor or limit
+     */
+    @GetMapping("/page")
+    public ResponseEntity<UserPageDTO> getUserPage(
+            @RequestParam(required = false) String usernamePrefix,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String role,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "false") boolean desc,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit) {
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(userService.getUserPage(usernamePrefix, email, role, sort, desc, after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -84,31 +181,83 @@ public class UserController {
         }
     }
 
+    /**
+     * USER ACTIVITY FEED
+     *
+     * The user's timeline, newest first: their posts, their comments,
+     * and comments other users left on their posts
+     *
+     * Endpoint: GET /api/users/{id}/activity?limit=20
+     * - before: nextCursor from the previous page
+     *
+     * Returns:
+     * - 200 OK with one page of entries
+     * - 400 BAD REQUEST for a bad limit
+     * - 404 NOT FOUND if the user doesn't exist
+     */
+    @GetMapping("/{id}/activity")
+    public ResponseEntity<ActivityFeedPageDTO> getUserActivity(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (userService.getUserSummaries(List.of(id)).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(activityFeedService.getFeed(id, before, limit));
+    }
+
      /**
      * UPDATE USER
      * 
-     * Updates user information by ID
+     * Updates user information by ID (only the fields that are sent)
      * 
-     * Endpoint: PUT /api/users/{id}
-     * Example: PUT /api/users/1
+     * Endpoint: PUT or PATCH /api/users/{id}
+     * Example: PATCH /api/users/1  {"role": "ADMIN", "version": 3}
      * 
      * Password Handling:
      * - If new password provided → hash and update
      * - If password is null/empty → keep existing password
      * 
+     * Concurrency:
+     * - Send the "version" you loaded; if someone changed the user since, you get 409
+     * 
      * Returns:
-     * - 200 OK with updated user if successful
+     * - 200 OK with the updated user (including its new "version") if successful
+     * - 400 BAD REQUEST if a sent username or email is blank
      * - 404 NOT FOUND if user doesn't exist
+     * - 409 CONFLICT if the user was changed since that version,
+     *   or the new username/email is already in use
      */
-    @PutMapping("/{id}")
-    public ResponseEntity<User> updateUser(@PathVariable Long id, @RequestBody User updatedUser){
-        Optional<User> result = userService.updateUser(id, updatedUser);
-        
-        if (result.isPresent()) {
-            return ResponseEntity.ok(result.get());
-        } else {
-            return ResponseEntity.notFound().build();
+    @RequestMapping(value = "/{id}", method = {RequestMethod.PUT, RequestMethod.PATCH})
+    public ResponseEntity<?> updateUser(@PathVariable Long id, @RequestBody User updatedUser){
+        if (updatedUser.getUsername() != null && updatedUser.getUsername().trim().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (updatedUser.getEmail() != null && updatedUser.getEmail().trim().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        UpdateResult result;
+        try {
+            result = userService.updateUser(id, updatedUser);
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Username or email is already in use");
         }
+        
+        return switch (result) {
+            // Re-read so the client gets the new version for its next edit
+            case UPDATED -> userService.getUserById(id)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+            case CONFLICT -> ResponseEntity
+                    .status(HttpStatus.CONFLICT)
+                    .body("User was changed by someone else. Reload and try again.");
+            case NOT_FOUND -> ResponseEntity.notFound().build();
+        };
     }
 
     /**
@@ -136,6 +285,68 @@ public class UserController {
     }
     
 
+    /**
+     * BULK DELETE USERS
+     * 
+     * Endpoint: POST /api/users/bulk-delete
+     * Body: {"ids": [4, 5, 6], "purgeContent": true}  or  {"role": "USER"}
+     * 
+     * purgeContent = also delete their posts (with those posts' comments) and their comments,
+     * in chunks of their own before the users (always a background job)
+     * 
+     * Returns:
+     * - 200 OK with the finished job (small id lists without purgeContent)
+     * - 202 ACCEPTED with a job to poll at /api/bulk-jobs/{id} (large jobs)
+     * - 400 BAD REQUEST if neither ids nor role are given
+     */
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<BulkJobDTO> bulkDeleteUsers(@RequestBody BulkRequestDTO request){
+        if (!request.hasIds() && isBlank(request.getRole())) {
+            return ResponseEntity.badRequest().build();
+        }
+        return BulkJobController.toResponse(bulkAdminService.deleteUsers(request));
+    }
+
+    /**
+     * BULK CHANGE ROLE
+     * 
+     * Endpoint: POST /api/users/bulk-role
+     * Body: {"ids": [4, 5], "newRole": "ADMIN"}  or  {"role": "GUEST", "newRole": "USER"}
+     * 
+     * Returns: same as bulk delete
+     */
+    @PostMapping("/bulk-role")
+    public ResponseEntity<BulkJobDTO> bulkChangeRole(@RequestBody BulkRequestDTO request){
+        if (isBlank(request.getNewRole()) || (!request.hasIds() && isBlank(request.getRole()))) {
+            return ResponseEntity.badRequest().build();
+        }
+        return BulkJobController.toResponse(bulkAdminService.changeUserRoles(request));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    /**
+     * BATCH USER LOOKUP
+     *
+     * Resolves many user ids at once into their public summary
+     * (id, username, role). Never returns emails or password hashes.
+     *
+     * Endpoint: GET /api/users/lookup?ids=1,2,3
+     *
+     * Returns:
+     * - 200 OK with the summaries of the ids that exist (unknown ids are left out)
+     * - 400 BAD REQUEST if no ids or more than 500 ids are given
+     */
+    @GetMapping("/lookup")
+    public ResponseEntity<List<UserSummaryDTO>> lookupUsers(@RequestParam Set<Long> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_LOOKUP_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(userService.getUserSummaries(ids));
+    }
+
     /**
      * Retrieves all users from the repository.
      *
@@ -168,4 +379,72 @@ public class UserController {
 
         return ResponseEntity.ok(stats);
     }
+
+    /**
+     *  DASHBOARD ACTIVITY CHART
+     *
+     * New users / posts / comments per hour or per day, read from the
+     * pre-aggregated rollup table (cost does not grow with the number of posts)
+     *
+     * Endpoint: GET /api/users/dashboard/activity?from=2026-10-01T00:00:00&to=2026-10-08T00:00:00&granularity=DAY
+     * - from / to: optional, default = the last 30 days (DAY) or 48 hours (HOUR)
+     * - author: optional username, default = site-wide totals
+     *
+     * Returns:
+     * - 200 OK with one point per bucket (empty buckets included)
+     * - 400 BAD REQUEST for an empty or too large range
+     */
+    @GetMapping("/dashboard/activity")
+    public ResponseEntity<?> getDashboardActivity(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "DAY") ActivityRollup.Granularity granularity,
+            @RequestParam(required = false) String author) {
+
+        LocalDateTime end = to != null ? to : defaultRangeEnd(granularity);
+        LocalDateTime start = from != null ? from : defaultRangeStart(granularity, end);
+
+        try {
+            List<ActivityPointDTO> points = activityRollupService.getActivity(start, end, granularity, author);
+            return ResponseEntity.ok(points);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     *  DASHBOARD TOP AUTHORS
+     *
+     * Per-author breakdown: most active authors for one metric (POSTS or COMMENTS)
+     *
+     * Endpoint: GET /api/users/dashboard/activity/authors?metric=POSTS&limit=10
+     * - from / to: optional, default = the last 30 days
+     */
+    @GetMapping("/dashboard/activity/authors")
+    public ResponseEntity<List<AuthorActivityDTO>> getTopAuthors(
+            @RequestParam(defaultValue = "POSTS") ActivityRollup.Metric metric,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        if (limit < 1 || limit > 100) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        LocalDateTime end = to != null ? to : defaultRangeEnd(ActivityRollup.Granularity.DAY);
+        LocalDateTime start = from != null ? from : defaultRangeStart(ActivityRollup.Granularity.DAY, end);
+
+        return ResponseEntity.ok(activityRollupService.getTopAuthors(metric, start, end, limit));
+    }
+
+    // Default range ends with the current (still running) bucket
+    private static LocalDateTime defaultRangeEnd(ActivityRollup.Granularity granularity) {
+        return granularity == ActivityRollup.Granularity.HOUR
+                ? LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(1)
+                : LocalDate.now().plusDays(1).atStartOfDay();
+    }
+
+    private static LocalDateTime defaultRangeStart(ActivityRollup.Granularity granularity, LocalDateTime end) {
+        return granularity == ActivityRollup.Granularity.HOUR ? end.minusHours(48) : end.minusDays(30);
+    }
 }
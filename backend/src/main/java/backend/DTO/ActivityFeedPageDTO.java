@@ -0,0 +1,33 @@
+package backend.DTO;
+
+import backend.Model.ActivityFeedEntry;
+
+import java.util.List;
+
+/*
+    DTO for one page of a user's activity timeline (newest first)
+
+    - entries: feed entries of this page
+    - nextCursor: pass as "before" to get older entries (null = no more entries)
+*/
+
+public class ActivityFeedPageDTO {
+
+    private List<ActivityFeedEntry> entries;
+    private Long nextCursor;
+
+    // Constructor
+    public ActivityFeedPageDTO(List<ActivityFeedEntry> entries, Long nextCursor) {
+        this.entries = entries;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters
+    public List<ActivityFeedEntry> getEntries() {
+        return entries;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,52 @@
+package backend.DTO;
+
+import java.time.LocalDateTime;
+
+/*
+    DTO for one bucket of the activity chart
+
+    - bucketStart: start of the hour or day
+    - newUsers / newPosts / newComments: activity in that bucket
+*/
+
+public class ActivityPointDTO {
+
+    private LocalDateTime bucketStart;
+    private long newUsers;
+    private long newPosts;
+    private long newComments;
+
+    // Constructor
+    public ActivityPointDTO(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    // Getters and Setters
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public long getNewUsers() {
+        return newUsers;
+    }
+
+    public void setNewUsers(long newUsers) {
+        this.newUsers = newUsers;
+    }
+
+    public long getNewPosts() {
+        return newPosts;
+    }
+
+    public void setNewPosts(long newPosts) {
+        this.newPosts = newPosts;
+    }
+
+    public long getNewComments() {
+        return newComments;
+    }
+
+    public void setNewComments(long newComments) {
+        this.newComments = newComments;
+    }
+}
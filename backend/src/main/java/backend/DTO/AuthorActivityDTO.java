@@ -0,0 +1,27 @@
+package backend.DTO;
+
+/*
+    DTO for one author's share of the activity in a time range
+    (e.g. "most active posters this week")
+*/
+
+public class AuthorActivityDTO {
+
+    private String author;
+    private long total;
+
+    // Constructor (also used by the JPQL "select new" query)
+    public AuthorActivityDTO(String author, Long total) {
+        this.author = author;
+        this.total = total == null ? 0 : total;
+    }
+
+    // Getters
+    public String getAuthor() {
+        return author;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+}
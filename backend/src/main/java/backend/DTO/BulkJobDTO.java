@@ -0,0 +1,102 @@
+package backend.DTO;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    DTO for the progress of a bulk admin operation
+
+    - status: RUNNING → DONE or FAILED
+    - total: rows selected when the job started (grows when a step finds
+      more rows to handle, e.g. the content of users being purged)
+    - processed: rows handled so far (grows chunk by chunk)
+    - affected: rows actually changed/deleted (including cascaded rows)
+
+    Updated by the worker thread while clients poll it, so the
+    counters are atomic and the status fields volatile.
+*/
+
+public class BulkJobDTO {
+
+    public enum Status { RUNNING, DONE, FAILED }
+
+    private final String id;
+    private final String operation;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    private volatile Status status = Status.RUNNING;
+    private volatile long total;
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong affected = new AtomicLong();
+    private volatile String error;
+    private volatile LocalDateTime finishedAt;
+
+    // Constructor
+    public BulkJobDTO(String id, String operation) {
+        this.id = id;
+        this.operation = operation;
+    }
+
+    // Progress updates (worker side)
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    // Only the worker thread writes total
+    public void addToTotal(long rows) {
+        this.total += rows;
+    }
+
+    public void addProgress(long processedRows, long affectedRows) {
+        processed.addAndGet(processedRows);
+        affected.addAndGet(affectedRows);
+    }
+
+    public void finish() {
+        finishedAt = LocalDateTime.now();
+        status = Status.DONE;
+    }
+
+    public void fail(String message) {
+        error = message;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    // Getters
+    public String getId() {
+        return id;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    public long getAffected() {
+        return affected.get();
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+}
@@ -0,0 +1,91 @@
+package backend.DTO;
+
+import java.util.List;
+
+/*
+    DTO for bulk admin operations
+
+    Select rows EITHER by ids OR by a filter (at least one is required,
+    so a request can never mean "everything"):
+    - ids: explicit row ids
+    - author: posts written by this username          (posts)
+    - userId / postId: comments by user / on post     (comments)
+    - role: users with this role                      (users)
+
+    Extra options:
+    - newRole: role to assign                         (users, bulk role change)
+    - purgeContent: also delete the users' posts and comments (users, bulk delete)
+*/
+
+public class BulkRequestDTO {
+
+    private List<Long> ids;
+    private String author;
+    private Long userId;
+    private Long postId;
+    private String role;
+    private String newRole;
+    private boolean purgeContent;
+
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public void setPostId(Long postId) {
+        this.postId = postId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public String getNewRole() {
+        return newRole;
+    }
+
+    public void setNewRole(String newRole) {
+        this.newRole = newRole;
+    }
+
+    public boolean isPurgeContent() {
+        return purgeContent;
+    }
+
+    public void setPurgeContent(boolean purgeContent) {
+        this.purgeContent = purgeContent;
+    }
+
+    // Explicit id list (no filter)?
+    public boolean hasIds() {
+        return ids != null && !ids.isEmpty();
+    }
+}
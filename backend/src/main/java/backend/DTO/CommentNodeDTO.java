@@ -0,0 +1,44 @@
+package backend.DTO;
+
+import backend.Model.Comment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    DTO for one comment inside a thread
+
+    - comment: the comment itself
+    - replies: direct replies (each again a CommentNodeDTO)
+    - hiddenReplies: replies left out because of the fan-out limit
+*/
+
+public class CommentNodeDTO {
+
+    private Comment comment;
+    private List<CommentNodeDTO> replies = new ArrayList<>();
+    private int hiddenReplies;
+
+    // Constructor
+    public CommentNodeDTO(Comment comment) {
+        this.comment = comment;
+    }
+
+    // Getters
+    public Comment getComment() {
+        return comment;
+    }
+
+    public List<CommentNodeDTO> getReplies() {
+        return replies;
+    }
+
+    public int getHiddenReplies() {
+        return hiddenReplies;
+    }
+
+    // Used while building the tree
+    public void hideReply() {
+        hiddenReplies++;
+    }
+}
@@ -0,0 +1,31 @@
+package backend.DTO;
+
+import java.util.List;
+
+/*
+    DTO for one page of top-level comment threads
+
+    - threads: top-level comments with their replies
+    - nextCursor: pass as "after" to get the next page (null = no more threads)
+*/
+
+public class CommentThreadPageDTO {
+
+    private List<CommentNodeDTO> threads;
+    private String nextCursor;
+
+    // Constructor
+    public CommentThreadPageDTO(List<CommentNodeDTO> threads, String nextCursor) {
+        this.threads = threads;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters
+    public List<CommentNodeDTO> getThreads() {
+        return threads;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,83 @@
+package backend.DTO;
+
+/*
+    DTO for body compression statistics
+
+    Purpose: Report how well compression works and what it costs
+    - compressionRatio = raw bytes / stored bytes (higher is better)
+    - avg*Micros = average CPU time per operation in microseconds
+      (avgCompressMicros includes attempts that were stored raw after all)
+*/
+
+public class CompressionStatsDTO {
+
+    private boolean enabled;
+    private int thresholdBytes;
+    private long compressedCount;
+    private long skippedCount;
+    private long rawBytes;
+    private long storedBytes;
+    private double compressionRatio;
+    private long avgCompressMicros;
+    private long decompressedCount;
+    private long avgDecompressMicros;
+
+    // Constructor
+    public CompressionStatsDTO(boolean enabled, int thresholdBytes,
+                               long compressedCount, long skippedCount,
+                               long rawBytes, long storedBytes, double compressionRatio,
+                               long avgCompressMicros,
+                               long decompressedCount, long avgDecompressMicros) {
+        this.enabled = enabled;
+        this.thresholdBytes = thresholdBytes;
+        this.compressedCount = compressedCount;
+        this.skippedCount = skippedCount;
+        this.rawBytes = rawBytes;
+        this.storedBytes = storedBytes;
+        this.compressionRatio = compressionRatio;
+        this.avgCompressMicros = avgCompressMicros;
+        this.decompressedCount = decompressedCount;
+        this.avgDecompressMicros = avgDecompressMicros;
+    }
+
+    // Getters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getThresholdBytes() {
+        return thresholdBytes;
+    }
+
+    public long getCompressedCount() {
+        return compressedCount;
+    }
+
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    public long getRawBytes() {
+        return rawBytes;
+    }
+
+    public long getStoredBytes() {
+        return storedBytes;
+    }
+
+    public double getCompressionRatio() {
+        return compressionRatio;
+    }
+
+    public long getAvgCompressMicros() {
+        return avgCompressMicros;
+    }
+
+    public long getDecompressedCount() {
+        return decompressedCount;
+    }
+
+    public long getAvgDecompressMicros() {
+        return avgDecompressMicros;
+    }
+}
@@ -0,0 +1,48 @@
+package backend.DTO;
+
+import backend.Journal.ChangeEvent;
+
+import java.util.List;
+
+/*
+    DTO for one page of the change journal
+
+    - entries: changes in offset order
+    - nextOffset: pass this as "from" on the next call to continue
+    - earliestOffset: oldest offset still retained (older ones were removed
+      by the retention policy; a consumer behind this has to resync)
+    - endOffset: offset the next written change will get
+*/
+
+public class JournalPageDTO {
+
+    private List<ChangeEvent> entries;
+    private long nextOffset;
+    private long earliestOffset;
+    private long endOffset;
+
+    // Constructor
+    public JournalPageDTO(List<ChangeEvent> entries, long nextOffset, long earliestOffset, long endOffset) {
+        this.entries = entries;
+        this.nextOffset = nextOffset;
+        this.earliestOffset = earliestOffset;
+        this.endOffset = endOffset;
+    }
+
+    // Getters
+    public List<ChangeEvent> getEntries() {
+        return entries;
+    }
+
+    public long getNextOffset() {
+        return nextOffset;
+    }
+
+    public long getEarliestOffset() {
+        return earliestOffset;
+    }
+
+    public long getEndOffset() {
+        return endOffset;
+    }
+}
@@ -0,0 +1,48 @@
+package backend.DTO;
+
+/*
+    DTO for one row of the admin user listing
+
+    Purpose: Everything the management table shows, and nothing more
+    - Built directly by the query, so the password column is never loaded
+    - version is passed back on edit (409 on concurrent changes)
+*/
+
+public class UserListItemDTO {
+
+    private Long id;
+    private String username;
+    private String email;
+    private String role;
+    private Long version;
+
+    // Constructor (also used by the criteria query)
+    public UserListItemDTO(Long id, String username, String email, String role, Long version) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.role = role;
+        this.version = version;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
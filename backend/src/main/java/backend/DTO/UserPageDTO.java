@@ -0,0 +1,31 @@
+package backend.DTO;
+
+import java.util.List;
+
+/*
+    DTO for one page of the admin user listing
+
+    - users: rows of this page
+    - nextCursor: pass as "after" to get the next page (null = no more users)
+*/
+
+public class UserPageDTO {
+
+    private List<UserListItemDTO> users;
+    private String nextCursor;
+
+    // Constructor
+    public UserPageDTO(List<UserListItemDTO> users, String nextCursor) {
+        this.users = users;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters
+    public List<UserListItemDTO> getUsers() {
+        return users;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,36 @@
+package backend.DTO;
+
+/*
+    DTO for the public view of a user
+
+    Purpose: Show who wrote something (e.g. comment authors)
+    - Only id, username and role
+    - Built directly by the query, so the password column is never loaded
+*/
+
+public class UserSummaryDTO {
+
+    private Long id;
+    private String username;
+    private String role;
+
+    // Constructor (also used by the JPQL "select new" query)
+    public UserSummaryDTO(Long id, String username, String role) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getRole() {
+        return role;
+    }
+}
@@ -0,0 +1,13 @@
+package backend.Journal;
+
+/**
+ * One entry of the change journal
+ *
+ * - offset: position in the journal (strictly increasing, never reused)
+ * - timestamp: epoch millis when the entry was written
+ * - entity: what changed (POST, COMMENT, USER)
+ * - type: CREATE / UPDATE / DELETE
+ * - entityId: id of the changed row
+ */
+public record ChangeEvent(long offset, long timestamp, String entity, ChangeType type, long entityId) {
+}
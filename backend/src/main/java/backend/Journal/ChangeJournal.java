@@ -0,0 +1,385 @@
+package backend.Journal;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+/**
+ * ChangeJournal
+ *
+ * Purpose: Local, append-only, ordered log of every create/update/delete,
+ * so caches, search indexes and counters on other nodes can follow along
+ *
+ * How it works:
+ * - Services call record(...) next to a write; inside a transaction the entry is
+ *   only queued once that transaction commits (rolled-back writes are never
+ *   journaled), and the committing thread waits (up to blog.journal.commit-wait-ms)
+ *   until the entries are on disk
+ * - One writer thread drains the queue, assigns offsets (0, 1, 2, ...),
+ *   appends the whole batch to the memory-mapped segment and forces it to
+ *   disk ONCE per batch (group commit)
+ * - Segments roll over at blog.journal.segment-bytes; old segments are
+ *   deleted by count and age (blog.journal.retention.*), on every roll and
+ *   periodically, so a quiet journal still ages out
+ * - Readers resume from any retained offset with read(from, max)
+ */
+@Component
+public class ChangeJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeJournal.class);
+
+    // Entity names used in entries
+    public static final String POST = "POST";
+    public static final String COMMENT = "COMMENT";
+    public static final String USER = "USER";
+
+    private final Path dir;
+    private final int segmentBytes;
+    private final int maxBatch;
+    private final int retentionMaxSegments;
+    private final long retentionMaxAgeMillis;
+    private final long commitWaitMillis;
+
+    // baseOffset → segment, oldest first
+    private final ConcurrentSkipListMap<Long, JournalSegment> segments = new ConcurrentSkipListMap<>();
+    private volatile JournalSegment active;
+
+    private final BlockingQueue<PendingEntry> queue = new LinkedBlockingQueue<>();
+    private final Object newEntries = new Object();
+    private Thread writer;
+    private volatile boolean running;
+
+    // Writer-only: offset for the next entry
+    private long nextOffset;
+
+    public ChangeJournal(@Value("${blog.journal.dir:journal}") String dir,
+                         @Value("${blog.journal.segment-bytes:16777216}") int segmentBytes,
+                         @Value("${blog.journal.max-batch:512}") int maxBatch,
+                         @Value("${blog.journal.retention.max-segments:16}") int retentionMaxSegments,
+                         @Value("${blog.journal.retention.max-age-hours:168}") long retentionMaxAgeHours,
+                         @Value("${blog.journal.commit-wait-ms:2000}") long commitWaitMillis) {
+        this.dir = Paths.get(dir).toAbsolutePath().normalize();
+        this.segmentBytes = segmentBytes;
+        this.maxBatch = maxBatch;
+        this.retentionMaxSegments = retentionMaxSegments;
+        this.retentionMaxAgeMillis = TimeUnit.HOURS.toMillis(retentionMaxAgeHours);
+        this.commitWaitMillis = commitWaitMillis;
+    }
+
+    private static final class PendingEntry {
+        final String entity;
+        final ChangeType type;
+        final long entityId;
+        final CompletableFuture<Long> offset = new CompletableFuture<>();
+
+        PendingEntry(String entity, ChangeType type, long entityId) {
+            this.entity = entity;
+            this.type = type;
+            this.entityId = entityId;
+        }
+    }
+
+    // ========================================
+    // Lifecycle
+    // ========================================
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(dir);
+
+        // Re-open existing segments (oldest first) and continue after the last entry
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> existing = files
+                    .filter(p -> p.getFileName().toString().endsWith(JournalSegment.SUFFIX))
+                    .sorted()
+                    .toList();
+            for (Path file : existing) {
+                String name = file.getFileName().toString();
+                long base = Long.parseLong(name.substring(0, name.length() - JournalSegment.SUFFIX.length()));
+                segments.put(base, JournalSegment.open(dir, base, segmentBytes));
+            }
+        }
+
+        if (segments.isEmpty()) {
+            segments.put(0L, JournalSegment.open(dir, 0, segmentBytes));
+        }
+        active = segments.lastEntry().getValue();
+        nextOffset = active.getNextOffset();
+
+        running = true;
+        writer = new Thread(this::writeLoop, "change-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        log.info("Change journal at {}: offsets {}..{}", dir, getEarliestOffset(), nextOffset);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        for (JournalSegment segment : segments.values()) {
+            segment.close();
+        }
+    }
+
+    // ========================================
+    // Write side
+    // ========================================
+
+    /*
+        Journal one change; the future completes with its offset once it is on disk
+        - Inside a transaction: held back until the commit, dropped on rollback
+          (the future then fails), and the commit waits for the disk write
+        - Outside a transaction (the write is already committed): queued now,
+          and this call waits for the disk write
+    */
+    public CompletableFuture<Long> record(String entity, ChangeType type, Long entityId) {
+        PendingEntry entry = new PendingEntry(entity, type, entityId == null ? 0 : entityId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingInTransaction().entries.add(entry);
+            return entry.offset;
+        }
+
+        enqueue(List.of(entry));
+        awaitOnDisk(List.of(entry));
+        return entry.offset;
+    }
+
+    // The current transaction's held-back entries (one synchronization per transaction)
+    private PendingInTransaction pendingInTransaction() {
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sync instanceof PendingInTransaction pending && pending.journal() == this) {
+                return pending;
+            }
+        }
+        PendingInTransaction pending = new PendingInTransaction();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private final class PendingInTransaction implements TransactionSynchronization {
+        final List<PendingEntry> entries = new ArrayList<>();
+
+        ChangeJournal journal() {
+            return ChangeJournal.this;
+        }
+
+        @Override
+        public void afterCommit() {
+            enqueue(entries);
+            awaitOnDisk(entries);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status != STATUS_COMMITTED) {
+                IllegalStateException rolledBack = new IllegalStateException("Transaction rolled back: change not journaled");
+                entries.forEach(entry -> entry.offset.completeExceptionally(rolledBack));
+            }
+        }
+    }
+
+    private void enqueue(List<PendingEntry> entries) {
+        if (!running) {
+            IllegalStateException stopped = new IllegalStateException("Change journal is not running");
+            entries.forEach(entry -> entry.offset.completeExceptionally(stopped));
+            return;
+        }
+        queue.addAll(entries);
+    }
+
+    /*
+        The database write is already committed here, so a slow or failed journal
+        write is logged rather than thrown back at the caller
+    */
+    private void awaitOnDisk(List<PendingEntry> entries) {
+        if (commitWaitMillis <= 0 || entries.isEmpty()) {
+            return;
+        }
+        CompletableFuture<?>[] offsets = entries.stream().map(entry -> entry.offset).toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(offsets).get(commitWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.error("Change journal: {} committed change(s) not confirmed on disk", entries.size(), e);
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingEntry> batch = new ArrayList<>(maxBatch);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingEntry first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+
+                writeBatch(batch);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<PendingEntry> batch) {
+        long[] offsets = new long[batch.size()];
+        try {
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < batch.size(); i++) {
+                PendingEntry entry = batch.get(i);
+                if (!active.append(nextOffset, now, entry.type, entry.entity, entry.entityId)) {
+                    roll();
+                    if (!active.append(nextOffset, now, entry.type, entry.entity, entry.entityId)) {
+                        throw new IllegalStateException("Journal entry larger than a segment");
+                    }
+                }
+                offsets[i] = nextOffset++;
+            }
+
+            // Group commit: one force for the whole batch
+            active.flush();
+
+        } catch (Exception e) {
+            log.error("Change journal write failed for {} entries", batch.size(), e);
+            batch.forEach(entry -> entry.offset.completeExceptionally(e));
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).offset.complete(offsets[i]);
+        }
+        synchronized (newEntries) {
+            newEntries.notifyAll();
+        }
+    }
+
+    private void roll() throws IOException {
+        active.flush();
+        JournalSegment next = JournalSegment.open(dir, nextOffset, segmentBytes);
+        segments.put(nextOffset, next);
+        active = next;
+        applyRetention();
+    }
+
+    // Retention also runs on a timer: a quiet journal never rolls
+    @Scheduled(fixedDelayString = "${blog.journal.retention.check-ms:600000}")
+    public void enforceRetention() {
+        applyRetention();
+    }
+
+    /*
+        Drop the oldest segments beyond the configured count or age
+        (the active segment is always kept)
+    */
+    private synchronized void applyRetention() {
+        long cutoff = System.currentTimeMillis() - retentionMaxAgeMillis;
+        Iterator<JournalSegment> it = segments.values().iterator();
+
+        while (it.hasNext()) {
+            JournalSegment segment = it.next();
+            if (segment == active) {
+                break;
+            }
+            boolean tooMany = segments.size() > retentionMaxSegments;
+            boolean tooOld = segment.getLastTimestamp() < cutoff;
+            if (!tooMany && !tooOld) {
+                break;
+            }
+            it.remove();
+            try {
+                segment.delete();
+                log.info("Change journal: removed segment starting at offset {}", segment.getBaseOffset());
+            } catch (IOException e) {
+                log.warn("Change journal: could not delete segment {}", segment.getBaseOffset(), e);
+            }
+        }
+    }
+
+    // ========================================
+    // Read side
+    // ========================================
+
+    /*
+        Up to max entries starting at offset from (or the earliest retained one)
+    */
+    public List<ChangeEvent> read(long from, int max) {
+        List<ChangeEvent> out = new ArrayList<>(Math.min(max, 1024));
+
+        Long start = segments.floorKey(from);
+        var candidates = start == null ? segments.values() : segments.tailMap(start, true).values();
+
+        for (JournalSegment segment : candidates) {
+            if (out.size() >= max) {
+                break;
+            }
+            if (segment.getNextOffset() <= from) {
+                continue;
+            }
+            segment.read(from, max - out.size(), out);
+        }
+        return out;
+    }
+
+    /*
+        Block until an entry at offset >= from exists, or the timeout passes
+        (used for long-polling tails)
+    */
+    public boolean awaitEntries(long from, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (newEntries) {
+            while (getNextOffset() <= from) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                newEntries.wait(remaining);
+            }
+        }
+        return true;
+    }
+
+    // Oldest offset still retained
+    public long getEarliestOffset() {
+        var first = segments.firstEntry();
+        return first == null ? 0 : first.getKey();
+    }
+
+    // Offset the next entry will get (= number of entries ever written)
+    public long getNextOffset() {
+        return active.getNextOffset();
+    }
+}
@@ -0,0 +1,10 @@
+package backend.Journal;
+
+/**
+ * Kind of write recorded in the change journal
+ */
+public enum ChangeType {
+    CREATE,
+    UPDATE,
+    DELETE
+}
@@ -0,0 +1,233 @@
+package backend.Journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.zip.CRC32C;
+
+/**
+ * JournalSegment
+ *
+ * One memory-mapped journal file, named after the offset of its first entry
+ * (e.g. 00000000000000001024.log)
+ *
+ * Record layout:
+ * [int length][int crc][long offset][long timestamp][byte type][long entityId][short nameLength][name bytes]
+ *
+ * - length/crc cover everything after the crc field
+ * - Only the writer thread appends; readers see records up to the last
+ *   flushed (forced) position, so they never read half-written data
+ * - A sparse in-memory index (every INDEX_INTERVAL records) speeds up seeks
+ */
+final class JournalSegment {
+
+    static final String SUFFIX = ".log";
+
+    private static final int HEADER_BYTES = 4 + 4;
+    private static final int FIXED_BODY_BYTES = 8 + 8 + 1 + 8 + 2;
+    private static final int INDEX_INTERVAL = 64;
+
+    private final long baseOffset;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    // offset → file position, for every INDEX_INTERVAL-th record
+    private final ConcurrentSkipListMap<Long, Integer> index = new ConcurrentSkipListMap<>();
+
+    // Writer-only state
+    private int writePosition;
+    private long writeNextOffset;
+    private int sinceLastIndex;
+    private final ByteBuffer scratch = ByteBuffer.allocate(HEADER_BYTES + FIXED_BODY_BYTES + Short.MAX_VALUE);
+    private final CRC32C crc = new CRC32C();
+
+    // Published state (visible to readers once data is on disk)
+    private volatile int flushedPosition;
+    private volatile long flushedNextOffset;
+    private volatile long lastTimestamp;
+
+    private JournalSegment(long baseOffset, Path path, FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.baseOffset = baseOffset;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.writeNextOffset = baseOffset;
+        this.flushedNextOffset = baseOffset;
+    }
+
+    static Path fileFor(Path dir, long baseOffset) {
+        return dir.resolve(String.format("%020d%s", baseOffset, SUFFIX));
+    }
+
+    /*
+        Create a new segment, or re-open an existing one and recover its end
+        (the first record with a bad length/crc marks the end of valid data)
+    */
+    static JournalSegment open(Path dir, long baseOffset, int capacity) throws IOException {
+        Path path = fileFor(dir, baseOffset);
+        boolean existing = Files.exists(path);
+        int size = existing ? (int) Math.max(Files.size(path), capacity) : capacity;
+
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+        JournalSegment segment = new JournalSegment(baseOffset, path, channel, buffer, size);
+        if (existing) {
+            segment.recover();
+        }
+        return segment;
+    }
+
+    private void recover() {
+        int position = 0;
+        long next = baseOffset;
+        long timestamp = 0;
+
+        while (position + HEADER_BYTES + FIXED_BODY_BYTES <= capacity) {
+            int length = buffer.getInt(position);
+            if (length < FIXED_BODY_BYTES || position + HEADER_BYTES + length > capacity) {
+                break;
+            }
+            crc.reset();
+            crc.update(buffer.slice(position + HEADER_BYTES, length));
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+
+            long offset = buffer.getLong(position + HEADER_BYTES);
+            if (sinceLastIndex++ % INDEX_INTERVAL == 0) {
+                index.put(offset, position);
+            }
+            timestamp = buffer.getLong(position + HEADER_BYTES + 8);
+            next = offset + 1;
+            position += HEADER_BYTES + length;
+        }
+
+        writePosition = position;
+        writeNextOffset = next;
+        flushedPosition = position;
+        flushedNextOffset = next;
+        lastTimestamp = timestamp;
+    }
+
+    // ========================================
+    // Writer side (journal writer thread only)
+    // ========================================
+
+    /*
+        Append one record; returns false if the segment is full
+    */
+    boolean append(long offset, long timestamp, ChangeType type, String entity, long entityId) {
+        byte[] name = entity.getBytes(StandardCharsets.UTF_8);
+        int length = FIXED_BODY_BYTES + name.length;
+        if (writePosition + HEADER_BYTES + length > capacity) {
+            return false;
+        }
+
+        scratch.clear();
+        scratch.position(HEADER_BYTES);
+        scratch.putLong(offset)
+                .putLong(timestamp)
+                .put((byte) type.ordinal())
+                .putLong(entityId)
+                .putShort((short) name.length)
+                .put(name);
+
+        crc.reset();
+        crc.update(scratch.array(), HEADER_BYTES, length);
+        scratch.putInt(0, length).putInt(4, (int) crc.getValue());
+
+        buffer.put(writePosition, scratch.array(), 0, HEADER_BYTES + length);
+
+        if (sinceLastIndex++ % INDEX_INTERVAL == 0) {
+            index.put(offset, writePosition);
+        }
+        writePosition += HEADER_BYTES + length;
+        writeNextOffset = offset + 1;
+        lastTimestamp = timestamp;
+        return true;
+    }
+
+    /*
+        Force appended records to disk, then make them visible to readers
+    */
+    void flush() {
+        if (flushedPosition == writePosition) {
+            return;
+        }
+        buffer.force(flushedPosition, writePosition - flushedPosition);
+        flushedPosition = writePosition;
+        flushedNextOffset = writeNextOffset;
+    }
+
+    // ========================================
+    // Reader side (any thread)
+    // ========================================
+
+    /*
+        Add up to max entries with offset >= from to out
+    */
+    void read(long from, int max, List<ChangeEvent> out) {
+        int end = flushedPosition;
+        Map.Entry<Long, Integer> start = index.floorEntry(from);
+        int position = start == null ? 0 : start.getValue();
+
+        int added = 0;
+        while (position < end && added < max) {
+            int length = buffer.getInt(position);
+            int body = position + HEADER_BYTES;
+            long offset = buffer.getLong(body);
+
+            if (offset >= from) {
+                long timestamp = buffer.getLong(body + 8);
+                ChangeType type = ChangeType.values()[buffer.get(body + 16)];
+                long entityId = buffer.getLong(body + 17);
+                byte[] name = new byte[buffer.getShort(body + 25)];
+                buffer.get(body + 27, name);
+
+                out.add(new ChangeEvent(offset, timestamp,
+                        new String(name, StandardCharsets.UTF_8), type, entityId));
+                added++;
+            }
+            position = body + length;
+        }
+    }
+
+    long getBaseOffset() {
+        return baseOffset;
+    }
+
+    // Offset the next record will get (only counting flushed records)
+    long getNextOffset() {
+        return flushedNextOffset;
+    }
+
+    long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    boolean isEmpty() {
+        return flushedPosition == 0;
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+}
@@ -0,0 +1,98 @@
+package backend.Model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * ActivityFeedEntry Entity
+ *
+ * One line of a user's "my activity" timeline
+ * Maps to table: tblActivityFeed
+ *
+ * Written when the activity happens (materialized on write), so reading a
+ * timeline is one index range on (user_id, id) instead of joining posts
+ * and comments per request.
+ *
+ * - userId: whose timeline this entry is in
+ * - actorId: who did it (the user themself, or the commenter for COMMENT_RECEIVED)
+ * - postTitle: title at the time of the activity (not updated on later edits)
+ */
+@Entity
+@Table(name = "tblActivityFeed", indexes = {
+        @Index(name = "idx_feed_user_id", columnList = "user_id, id"),
+        @Index(name = "idx_feed_post", columnList = "post_id"),
+        @Index(name = "idx_feed_comment", columnList = "comment_id")
+})
+public class ActivityFeedEntry {
+
+    public enum Type { POST_CREATED, COMMENT_CREATED, COMMENT_RECEIVED }
+
+    public static final int TITLE_LENGTH = 120;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Type type;
+
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Column(name = "comment_id")
+    private Long commentId;
+
+    @Column(name = "post_title", length = TITLE_LENGTH)
+    private String postTitle;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public ActivityFeedEntry() {
+    }
+
+    public ActivityFeedEntry(Long userId, Type type, Long actorId, Long postId, Long commentId,
+                             String postTitle, LocalDateTime createdAt) {
+        this.userId = userId;
+        this.type = type;
+        this.actorId = actorId;
+        this.postId = postId;
+        this.commentId = commentId;
+        this.postTitle = postTitle == null || postTitle.length() <= TITLE_LENGTH
+                ? postTitle
+                : postTitle.substring(0, TITLE_LENGTH);
+        this.createdAt = createdAt == null ? LocalDateTime.now() : createdAt;
+    }
+
+    // --- Getters and Setters ---
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Type getType() { return type; }
+    public void setType(Type type) { this.type = type; }
+
+    public Long getActorId() { return actorId; }
+    public void setActorId(Long actorId) { this.actorId = actorId; }
+
+    public Long getPostId() { return postId; }
+    public void setPostId(Long postId) { this.postId = postId; }
+
+    public Long getCommentId() { return commentId; }
+    public void setCommentId(Long commentId) { this.commentId = commentId; }
+
+    public String getPostTitle() { return postTitle; }
+    public void setPostTitle(String postTitle) { this.postTitle = postTitle; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
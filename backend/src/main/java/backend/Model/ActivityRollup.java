@@ -0,0 +1,78 @@
+package backend.Model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * ActivityRollup Entity
+ *
+ * Pre-aggregated activity counter for the admin dashboard
+ * Maps to table: tblActivityRollups
+ *
+ * One row = how many new users / posts / comments appeared in one time bucket,
+ * either in total (authorKey = "") or for one author (authorKey = username).
+ *
+ * - New activity is added to HOUR buckets
+ * - HOUR buckets older than a couple of days are compacted into DAY buckets
+ * - Dashboard charts read a handful of these rows instead of scanning
+ *   tblPosts / tblComments
+ */
+@Entity
+@Table(name = "tblActivityRollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_rollup_bucket",
+                columnNames = {"author_key", "granularity", "bucket_start", "metric"}),
+        indexes = @Index(name = "idx_rollup_metric_bucket", columnList = "metric, bucket_start"))
+public class ActivityRollup {
+
+    // What is counted
+    public enum Metric { USERS, POSTS, COMMENTS }
+
+    // Bucket size
+    public enum Granularity { HOUR, DAY }
+
+    // authorKey of the all-authors total
+    public static final String TOTAL = "";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Metric metric;
+
+    @Column(name = "author_key", nullable = false)
+    private String authorKey;
+
+    @Column(name = "event_count", nullable = false)
+    private long count;
+
+    public ActivityRollup() {
+    }
+
+    // --- Getters and Setters ---
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Granularity getGranularity() { return granularity; }
+    public void setGranularity(Granularity granularity) { this.granularity = granularity; }
+
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart) { this.bucketStart = bucketStart; }
+
+    public Metric getMetric() { return metric; }
+    public void setMetric(Metric metric) { this.metric = metric; }
+
+    public String getAuthorKey() { return authorKey; }
+    public void setAuthorKey(String authorKey) { this.authorKey = authorKey; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
@@ -0,0 +1,87 @@
+package backend.Model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Attachment Entity
+ *
+ * A file (image, document, ...) attached to a blog post
+ * Maps to table: tblAttachments
+ *
+ * The bytes are NOT stored in MySQL: they live in the content-addressed
+ * file store under their SHA-256 hash. Identical uploads share one file.
+ *
+ * Fields:
+ * - id: unique identifier (auto-generated)
+ * - postId: post this file belongs to
+ * - contentHash: SHA-256 (hex) of the file bytes
+ * - filename: original file name from the upload
+ * - contentType: MIME type sent by the uploader
+ * - size: file size in bytes
+ * - createdAt: upload timestamp
+ */
+@Entity
+@Table(name = "tblAttachments", indexes = {
+        @Index(name = "idx_attachments_post", columnList = "post_id"),
+        @Index(name = "idx_attachments_hash", columnList = "content_hash")
+})
+public class Attachment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(nullable = false)
+    private String filename;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long size;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public Attachment() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Attachment(Long postId, String contentHash, String filename, String contentType, long size) {
+        this.postId = postId;
+        this.contentHash = contentHash;
+        this.filename = filename;
+        this.contentType = contentType;
+        this.size = size;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // --- Getters and Setters ---
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getPostId() { return postId; }
+    public void setPostId(Long postId) { this.postId = postId; }
+
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
+    public String getFilename() { return filename; }
+    public void setFilename(String filename) { this.filename = filename; }
+
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+
+    public long getSize() { return size; }
+    public void setSize(long size) { this.size = size; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
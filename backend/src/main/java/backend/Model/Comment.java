@@ -1,12 +1,32 @@
 package backend.Model; // Check your package name (backend.Model or backend.model)
 
+import backend.Compression.CompressedText;
+import backend.Compression.CompressedTextConverter;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
+/*
+    Threaded comments use a materialized path:
+    - path = ids of all ancestors + own id, each as a fixed-width base-36
+      segment ending in "/" (e.g. "000000000001a/000000000002f/")
+    - Sorting by path gives a depth-first walk of the thread, and a whole
+      subtree is one range: path >= "<subtree path>" AND path < "<subtree path, last '/' → '0'>"
+    - The column uses a binary ASCII collation so '/' sorts before '0'
+*/
 @Entity
-@Table(name = "tblComments")
+@Table(name = "tblComments", indexes = {
+        @Index(name = "idx_comments_post_path", columnList = "post_id, path"),
+        @Index(name = "idx_comments_post_depth_path", columnList = "post_id, depth, path")
+})
 public class Comment {
 
+    public static final int PATH_SEGMENT_LENGTH = 13; // base 36, fits any positive Long
+    public static final int PATH_MAX_LENGTH = 255;
+
+    // Deepest level whose path still fits the column (each level adds a segment + "/")
+    public static final int MAX_PATH_DEPTH = PATH_MAX_LENGTH / (PATH_SEGMENT_LENGTH + 1) - 1;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -18,12 +38,30 @@ public class Comment {
     @Column(name = "post_id", nullable = false)
     private Long postId;
 
+    // Parent comment (null = top-level comment on the post)
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    // Materialized path (set right after insert, once the id is known)
+    @Column(name = "path", columnDefinition = "VARCHAR(" + PATH_MAX_LENGTH + ") CHARACTER SET ascii COLLATE ascii_bin")
+    private String path;
+
+    // 0 = top-level
+    @Column(nullable = false)
+    private int depth;
+
     @Column(columnDefinition = "TEXT", nullable = false)
-    private String content;
+    @Convert(converter = CompressedTextConverter.class) // Decompressed only when read
+    private CompressedText content;
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Author's username - not stored, only filled in when asked for (includeAuthors=true)
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String authorName;
+
     public Comment() {
         this.createdAt = LocalDateTime.now();
     }
@@ -32,7 +70,7 @@ public class Comment {
     public Comment(Long userId, Long postId, String content) {
         this.userId = userId;
         this.postId = postId; // 👈 Save the post ID
-        this.content = content;
+        this.content = CompressedText.of(content);
         this.createdAt = LocalDateTime.now();
     }
 
@@ -47,9 +85,34 @@ public class Comment {
     public Long getPostId() { return postId; }
     public void setPostId(Long postId) { this.postId = postId; }
 
-    public String getContent() { return content; }
-    public void setContent(String content) { this.content = content; }
+    public Long getParentId() { return parentId; }
+    public void setParentId(Long parentId) { this.parentId = parentId; }
+
+    public String getPath() { return path; }
+    public void setPath(String path) { this.path = path; }
+
+    public int getDepth() { return depth; }
+    public void setDepth(int depth) { this.depth = depth; }
+
+    public String getContent() { return content == null ? null : content.text(); }
+    public void setContent(String content) { this.content = CompressedText.of(content); }
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
-}
\ No newline at end of file
+
+    public String getAuthorName() { return authorName; }
+    public void setAuthorName(String authorName) { this.authorName = authorName; }
+
+    // --- Path helpers ---
+
+    // Path segment for one comment id (zero-padded base 36)
+    public static String pathSegment(Long id) {
+        String base36 = Long.toString(id, 36);
+        return "0".repeat(Math.max(0, PATH_SEGMENT_LENGTH - base36.length())) + base36 + "/";
+    }
+
+    // Smallest path that sorts after every path in the subtree of the given path
+    public static String pathUpperBound(String path) {
+        return path.substring(0, path.length() - 1) + "0";
+    }
+}
@@ -2,6 +2,9 @@ package backend.Model;
 
 
 
+import backend.Compression.CompressedText;
+import backend.Compression.CompressedTextConverter;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
@@ -14,9 +17,15 @@ import java.time.LocalDateTime;
  * Fields:
  * - id: unique identifier (auto-generated)
  * - title: post title
- * - content: post body (can be long text)
+ * - content: post body (can be long text, stored compressed above a size threshold)
  * - author: username of creator
  * - createdAt: timestamp when post was created
+ * - version: bumped on every update (optimistic locking, stale edits get 409)
+ *
+ * Rendered at write time (read-only for clients, see ContentRenderer):
+ * - contentHtml: sanitized HTML of content
+ * - excerpt / readingTimeMinutes: for post lists
+ * - rendererVersion: renderer that produced them (older ones are re-rendered in the background)
  */
 @Entity
 @Table(name = "tblPosts")
@@ -30,7 +39,8 @@ public class Post {
     private String title;
 
     @Column(columnDefinition = "TEXT") // Allows long text
-    private String content;
+    @Convert(converter = CompressedTextConverter.class) // Decompressed only when read
+    private CompressedText content;
 
     @Column(nullable = false)
     private String author; // Username of the post creator
@@ -38,6 +48,26 @@ public class Post {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    @Version
+    @Column(columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long version;
+
+    @Column(name = "content_html", columnDefinition = "TEXT")
+    @Convert(converter = CompressedTextConverter.class)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private CompressedText contentHtml;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String excerpt;
+
+    @Column(name = "reading_time_minutes")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer readingTimeMinutes;
+
+    @Column(name = "renderer_version", columnDefinition = "INT NOT NULL DEFAULT 0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer rendererVersion = 0;
+
     // Default constructor
     public Post() {
         this.createdAt = LocalDateTime.now();
@@ -46,7 +76,7 @@ public class Post {
     // Constructor with fields
     public Post(String title, String content, String author) {
         this.title = title;
-        this.content = content;
+        this.content = CompressedText.of(content);
         this.author = author;
         this.createdAt = LocalDateTime.now();
     }
@@ -72,11 +102,11 @@ public class Post {
     }
 
     public String getContent() {
-        return content;
+        return content == null ? null : content.text();
     }
 
     public void setContent(String content) {
-        this.content = content;
+        this.content = CompressedText.of(content);
     }
 
     public String getAuthor() {
@@ -95,6 +125,46 @@ public class Post {
         this.createdAt = createdAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getContentHtml() {
+        return contentHtml == null ? null : contentHtml.text();
+    }
+
+    public void setContentHtml(String contentHtml) {
+        this.contentHtml = CompressedText.of(contentHtml);
+    }
+
+    public String getExcerpt() {
+        return excerpt;
+    }
+
+    public void setExcerpt(String excerpt) {
+        this.excerpt = excerpt;
+    }
+
+    public Integer getReadingTimeMinutes() {
+        return readingTimeMinutes;
+    }
+
+    public void setReadingTimeMinutes(Integer readingTimeMinutes) {
+        this.readingTimeMinutes = readingTimeMinutes;
+    }
+
+    public Integer getRendererVersion() {
+        return rendererVersion;
+    }
+
+    public void setRendererVersion(Integer rendererVersion) {
+        this.rendererVersion = rendererVersion;
+    }
+
     // Optional: toString for debugging
     @Override
     public String toString() {
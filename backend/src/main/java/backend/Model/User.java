@@ -3,7 +3,12 @@ package backend.Model;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "tblAccounts")
+@Table(name = "tblAccounts",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_accounts_username", columnNames = "username"),
+                @UniqueConstraint(name = "uk_accounts_email", columnNames = "email")
+        },
+        indexes = @Index(name = "idx_accounts_role", columnList = "role"))
 public class User {
 
     @Id
@@ -15,6 +20,11 @@ public class User {
     private String password;
     private String role;
 
+    // Bumped on every update (optimistic locking, stale edits get 409)
+    @Version
+    @Column(columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long version;
+
     // GETTERS AND SETTERS
     public Long getId() {
         return id;
@@ -55,5 +65,13 @@ public class User {
     public void setRole(String role) {
         this.role = role;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
 
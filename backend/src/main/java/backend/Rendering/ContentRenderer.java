@@ -0,0 +1,404 @@
+package backend.Rendering;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ContentRenderer
+ *
+ * Purpose: Turns a markdown-style post body into sanitized HTML, once, when the post is written
+ *
+ * Supported:
+ * - # headings, paragraphs (single line breaks kept), > quotes, - / * / 1. lists, --- rules
+ * - ``` fenced code blocks, `inline code` (any run of backticks), **bold**, *italic*, ***both***,
+ *   [links](https://...) (targets may contain balanced parentheses)
+ *
+ * Sanitizing:
+ * - ALL input is HTML-escaped first; the only tags in the output are the ones
+ *   generated here, so user text can never inject markup or scripts
+ * - Link targets must be http(s), mailto or site-relative, anything else stays plain text
+ * - Bold / italic are matched with a delimiter stack that only ever closes the innermost
+ *   open tag, and never across a link edge; unmatched * stay literal, so tags always nest
+ *
+ * Bump VERSION whenever the output changes: existing posts are re-rendered
+ * in the background (see RenderMigrationService).
+ */
+@Component
+public class ContentRenderer {
+
+    public static final int VERSION = 3;
+
+    public static final int EXCERPT_LENGTH = 200;
+    public static final int WORDS_PER_MINUTE = 200;
+
+    private static final Pattern HEADING = Pattern.compile("^(#{1,6})\\s+(.*)$");
+    private static final Pattern UNORDERED_ITEM = Pattern.compile("^\\s*[-*]\\s+(.*)$");
+    private static final Pattern ORDERED_ITEM = Pattern.compile("^\\s*\\d+[.)]\\s+(.*)$");
+    private static final Pattern QUOTE = Pattern.compile("^>\\s?(.*)$");
+    private static final Pattern RULE = Pattern.compile("^(-{3,}|\\*{3,})\\s*$");
+
+    private static final Pattern LINK = Pattern.compile("\\[([^\\]]+)]\\(((?:[^()\\s]|\\([^()\\s]*\\))+)\\)");
+    private static final Pattern SAFE_URL = Pattern.compile("^(https?://|mailto:|/(?![/\\\\]))[^\\s\"'<>*\\\\]*$", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern TAG = Pattern.compile("<[^>]+>");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    public RenderedContent render(String content) {
+        String html = toHtml(content == null ? "" : content);
+        String text = toPlainText(html);
+
+        int words = text.isEmpty() ? 0 : WHITESPACE.split(text).length;
+        int minutes = Math.max(1, (words + WORDS_PER_MINUTE - 1) / WORDS_PER_MINUTE);
+
+        return new RenderedContent(html, excerpt(text), minutes, VERSION);
+    }
+
+    // ========================================
+    // Blocks
+    // ========================================
+
+    private String toHtml(String content) {
+        String[] lines = content.replace("\r\n", "\n").replace('\r', '\n').split("\n", -1);
+        StringBuilder out = new StringBuilder(content.length() + content.length() / 4);
+
+        List<String> paragraph = new ArrayList<>();
+        String openList = null; // "ul" / "ol" while inside a list
+        StringBuilder code = null; // non-null while inside a ``` block
+
+        for (String line : lines) {
+
+            if (code != null) {
+                if (isFence(line)) {
+                    out.append("<pre><code>").append(code).append("</code></pre>\n");
+                    code = null;
+                } else {
+                    code.append(escape(line)).append('\n');
+                }
+                continue;
+            }
+
+            Matcher m;
+            String listType = null;
+            String itemText = null;
+            if ((m = UNORDERED_ITEM.matcher(line)).matches() && !RULE.matcher(line).matches()) {
+                listType = "ul";
+                itemText = m.group(1);
+            } else if ((m = ORDERED_ITEM.matcher(line)).matches()) {
+                listType = "ol";
+                itemText = m.group(1);
+            }
+
+            // Anything but the next item of the same list ends the current blocks
+            if (listType == null || !listType.equals(openList)) {
+                if (openList != null) {
+                    out.append("</").append(openList).append(">\n");
+                    openList = null;
+                }
+            }
+            if (listType != null || line.isBlank() || HEADING.matcher(line).matches()
+                    || RULE.matcher(line).matches() || QUOTE.matcher(line).matches()
+                    || isFence(line)) {
+                flushParagraph(paragraph, out);
+            }
+
+            if (isFence(line)) {
+                code = new StringBuilder();
+            } else if (listType != null) {
+                if (openList == null) {
+                    out.append('<').append(listType).append(">\n");
+                    openList = listType;
+                }
+                out.append("<li>").append(inline(itemText)).append("</li>\n");
+            } else if ((m = HEADING.matcher(line)).matches()) {
+                int level = m.group(1).length();
+                out.append("<h").append(level).append('>').append(inline(m.group(2).trim()))
+                        .append("</h").append(level).append(">\n");
+            } else if (RULE.matcher(line).matches()) {
+                out.append("<hr>\n");
+            } else if ((m = QUOTE.matcher(line)).matches()) {
+                out.append("<blockquote>").append(inline(m.group(1))).append("</blockquote>\n");
+            } else if (!line.isBlank()) {
+                paragraph.add(line);
+            }
+        }
+
+        // Unclosed blocks at the end of the text
+        if (code != null) {
+            out.append("<pre><code>").append(code).append("</code></pre>\n");
+        }
+        if (openList != null) {
+            out.append("</").append(openList).append(">\n");
+        }
+        flushParagraph(paragraph, out);
+
+        return out.toString().trim();
+    }
+
+    // Like CommonMark, a backtick in the info string means it's inline code, not a fence
+    private static boolean isFence(String line) {
+        String trimmed = line.trim();
+        return trimmed.startsWith("```") && trimmed.indexOf('`', 3) < 0;
+    }
+
+    private void flushParagraph(List<String> lines, StringBuilder out) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        out.append("<p>");
+        for (int i = 0; i < lines.size(); i++) {
+            if (i > 0) {
+                out.append("<br>\n");
+            }
+            out.append(inline(lines.get(i).trim()));
+        }
+        out.append("</p>\n");
+        lines.clear();
+    }
+
+    // ========================================
+    // Inline formatting
+    // ========================================
+
+    /*
+        `code` spans are split off first so nothing inside them gets formatted
+        - A run of N backticks is closed by the next run of exactly N (``a`b`` → a`b)
+        - One space just inside both ends is dropped, so `` `x` `` shows `x`
+        - A run without a closing run stays literal
+    */
+    private String inline(String text) {
+        StringBuilder out = new StringBuilder(text.length() + 16);
+        StringBuilder plain = new StringBuilder(text.length());
+        int i = 0;
+
+        while (i < text.length()) {
+            if (text.charAt(i) != '`') {
+                plain.append(text.charAt(i++));
+                continue;
+            }
+            int runEnd = backtickRunEnd(text, i);
+            int ticks = runEnd - i;
+            int close = findBacktickRun(text, runEnd, ticks);
+            if (close < 0) {
+                plain.append(text, i, runEnd);
+                i = runEnd;
+                continue;
+            }
+
+            String code = text.substring(runEnd, close);
+            if (code.length() >= 2 && code.startsWith(" ") && code.endsWith(" ") && !code.isBlank()) {
+                code = code.substring(1, code.length() - 1);
+            }
+            out.append(format(escape(plain.toString())));
+            plain.setLength(0);
+            out.append("<code>").append(escape(code)).append("</code>");
+            i = close + ticks;
+        }
+        out.append(format(escape(plain.toString())));
+        return out.toString();
+    }
+
+    private static int backtickRunEnd(String text, int from) {
+        int end = from;
+        while (end < text.length() && text.charAt(end) == '`') {
+            end++;
+        }
+        return end;
+    }
+
+    // Start of the next run of exactly `ticks` backticks, or -1
+    private static int findBacktickRun(String text, int from, int ticks) {
+        int i = from;
+        while (i < text.length()) {
+            if (text.charAt(i) != '`') {
+                i++;
+                continue;
+            }
+            int end = backtickRunEnd(text, i);
+            if (end - i == ticks) {
+                return i;
+            }
+            i = end;
+        }
+        return -1;
+    }
+
+    // Input is already escaped: these patterns only ever see entity-encoded text
+    // Text between links and each link label are emphasized separately
+    private String format(String escaped) {
+        StringBuilder out = new StringBuilder(escaped.length() + 16);
+        Matcher link = LINK.matcher(escaped);
+        int textStart = 0;
+
+        while (link.find()) {
+            String url = link.group(2);
+            if (!SAFE_URL.matcher(url).matches()) {
+                continue; // stays plain text, part of the surrounding run
+            }
+            out.append(emphasis(escaped.substring(textStart, link.start())));
+            out.append("<a href=\"").append(url).append("\" rel=\"nofollow noopener noreferrer\" target=\"_blank\">")
+                    .append(emphasis(link.group(1))).append("</a>");
+            textStart = link.end();
+        }
+        out.append(emphasis(escaped.substring(textStart)));
+        return out.toString();
+    }
+
+    /*
+        **bold** / *italic* / ***both*** with a delimiter stack
+        - Each run of 1-3 '*' is one delimiter (longer runs are literal text)
+        - A run can open if text follows it, close if text precedes it;
+          a single '*' also can't open or close inside a word (2*3*4 stays as is)
+        - A closer only matches the innermost open delimiter(s), and only when
+          their '*' add up to its own; "**a *b** c*" gives **a <em>b** c</em>
+          instead of crossed tags
+        - Openers left unmatched at the end are written back as literal '*'
+    */
+    private static String emphasis(String escaped) {
+        if (escaped.indexOf('*') < 0) {
+            return escaped;
+        }
+
+        List<Object> pieces = new ArrayList<>(); // String text or Delimiter
+        Deque<Delimiter> open = new ArrayDeque<>();
+        StringBuilder text = new StringBuilder();
+        int i = 0;
+
+        while (i < escaped.length()) {
+            char c = escaped.charAt(i);
+            if (c != '*') {
+                text.append(c);
+                i++;
+                continue;
+            }
+            int end = i;
+            while (end < escaped.length() && escaped.charAt(end) == '*') {
+                end++;
+            }
+            int count = end - i;
+            char before = i == 0 ? ' ' : escaped.charAt(i - 1);
+            char after = end == escaped.length() ? ' ' : escaped.charAt(end);
+            i = end;
+
+            boolean canOpen = count <= 3 && !Character.isWhitespace(after)
+                    && (count > 1 || !Character.isLetterOrDigit(before));
+            boolean canClose = count <= 3 && !Character.isWhitespace(before)
+                    && (count > 1 || !Character.isLetterOrDigit(after));
+
+            Delimiter run = new Delimiter(count);
+            if (canClose && closes(open, count)) {
+                StringBuilder closing = new StringBuilder();
+                for (int remaining = count; remaining > 0; ) {
+                    Delimiter opener = open.pop();
+                    opener.html = openTags(opener.count);
+                    closing.append(closeTags(opener.count));
+                    remaining -= opener.count;
+                }
+                run.html = closing.toString();
+                canOpen = false;
+            }
+            if (canOpen) {
+                open.push(run);
+            }
+
+            pieces.add(text.toString());
+            text.setLength(0);
+            pieces.add(run);
+        }
+        pieces.add(text.toString());
+
+        StringBuilder out = new StringBuilder(escaped.length() + 16);
+        for (Object piece : pieces) {
+            out.append(piece instanceof Delimiter d ? d.html : (String) piece);
+        }
+        return out.toString();
+    }
+
+    // The innermost openers add up to exactly this run (*** can close ** and *)
+    private static boolean closes(Deque<Delimiter> open, int count) {
+        int sum = 0;
+        for (Delimiter opener : open) {
+            sum += opener.count;
+            if (sum >= count) {
+                break;
+            }
+        }
+        return sum == count;
+    }
+
+    private static String openTags(int count) {
+        return switch (count) {
+            case 1 -> "<em>";
+            case 2 -> "<strong>";
+            default -> "<strong><em>";
+        };
+    }
+
+    private static String closeTags(int count) {
+        return switch (count) {
+            case 1 -> "</em>";
+            case 2 -> "</strong>";
+            default -> "</em></strong>";
+        };
+    }
+
+    // One run of '*': literal until it is matched
+    private static final class Delimiter {
+        final int count;
+        String html;
+
+        Delimiter(int count) {
+            this.count = count;
+            this.html = "*".repeat(count);
+        }
+    }
+
+    private static String escape(String text) {
+        StringBuilder out = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    // ========================================
+    // Plain text (excerpt, word count)
+    // ========================================
+
+    // Our own HTML only: dropping the tags and decoding the five entities gives the visible text
+    private static String toPlainText(String html) {
+        String text = TAG.matcher(html).replaceAll(" ");
+        text = text.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&#39;", "'").replace("&amp;", "&");
+        return WHITESPACE.matcher(text).replaceAll(" ").trim();
+    }
+
+    // Cut at a word boundary
+    private static String excerpt(String text) {
+        if (text.length() <= EXCERPT_LENGTH) {
+            return text;
+        }
+        int cut = text.lastIndexOf(' ', EXCERPT_LENGTH);
+        if (cut < EXCERPT_LENGTH / 2) {
+            cut = EXCERPT_LENGTH;
+            // Don't split an emoji (or any other surrogate pair) in half
+            if (Character.isHighSurrogate(text.charAt(cut - 1))) {
+                cut--;
+            }
+        }
+        return text.substring(0, cut).trim() + "…";
+    }
+}
@@ -0,0 +1,14 @@
+package backend.Rendering;
+
+/**
+ * RenderedContent
+ *
+ * Everything derived from a post body at write time
+ *
+ * - html: sanitized HTML, safe to insert into the page as-is
+ * - excerpt: plain-text preview for lists
+ * - readingTimeMinutes: estimated at ContentRenderer.WORDS_PER_MINUTE (at least 1)
+ * - rendererVersion: ContentRenderer.VERSION that produced it
+ */
+public record RenderedContent(String html, String excerpt, int readingTimeMinutes, int rendererVersion) {
+}
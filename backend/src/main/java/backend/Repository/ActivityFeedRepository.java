@@ -0,0 +1,66 @@
+package backend.Repository;
+
+import backend.Model.ActivityFeedEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ActivityFeedRepository extends JpaRepository<ActivityFeedEntry, Long> {
+
+    // Newest first, strictly older than the cursor (keyset on idx_feed_user_id)
+    @Query("select e from ActivityFeedEntry e where e.userId = :userId and e.id < :beforeId order by e.id desc")
+    List<ActivityFeedEntry> findPage(@Param("userId") Long userId,
+                                     @Param("beforeId") long beforeId,
+                                     Pageable page);
+
+    // ---- Cleanup when the things an entry points to are deleted ----
+
+    @Query("select distinct e.userId from ActivityFeedEntry e where e.postId in :postIds")
+    List<Long> findUserIdsByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    @Query("select distinct e.userId from ActivityFeedEntry e where e.commentId in :commentIds")
+    List<Long> findUserIdsByCommentIdIn(@Param("commentIds") Collection<Long> commentIds);
+
+    @Transactional
+    @Modifying
+    @Query("delete from ActivityFeedEntry e where e.postId in :postIds")
+    int removeByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    @Transactional
+    @Modifying
+    @Query("delete from ActivityFeedEntry e where e.commentId in :commentIds")
+    int removeByCommentIdIn(@Param("commentIds") Collection<Long> commentIds);
+
+    @Transactional
+    @Modifying
+    @Query("delete from ActivityFeedEntry e where e.userId in :userIds")
+    int removeByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    // ---- One-time backfill from existing posts and comments (runs only while the table is empty) ----
+    // Ordered by time, so ids (the feed cursor) follow the original order
+    // (native SQL uses the physical table names, e.g. tblActivityFeed → tbl_activity_feed)
+
+    @Transactional
+    @Modifying
+    @Query(value = "insert into tbl_activity_feed (user_id, type, actor_id, post_id, comment_id, post_title, created_at) " +
+            "select x.user_id, x.type, x.actor_id, x.post_id, x.comment_id, x.post_title, x.created_at from (" +
+            "  select a.id as user_id, 'POST_CREATED' as type, a.id as actor_id, p.id as post_id, " +
+            "         null as comment_id, left(p.title, 120) as post_title, coalesce(p.created_at, now()) as created_at " +
+            "  from tbl_posts p join tbl_accounts a on a.username = p.author " +
+            "  union all " +
+            "  select c.user_id, 'COMMENT_CREATED', c.user_id, c.post_id, c.id, left(p.title, 120), c.created_at " +
+            "  from tbl_comments c join tbl_posts p on p.id = c.post_id " +
+            "  union all " +
+            "  select a.id, 'COMMENT_RECEIVED', c.user_id, c.post_id, c.id, left(p.title, 120), c.created_at " +
+            "  from tbl_comments c join tbl_posts p on p.id = c.post_id join tbl_accounts a on a.username = p.author " +
+            "  where a.id <> c.user_id" +
+            ") x order by x.created_at",
+            nativeQuery = true)
+    int backfill();
+}
@@ -0,0 +1,98 @@
+package backend.Repository;
+
+import backend.DTO.AuthorActivityDTO;
+import backend.Model.ActivityRollup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ActivityRollupRepository extends JpaRepository<ActivityRollup, Long> {
+
+    // Add to a bucket, creating it if needed - one statement, no read first
+    // (native SQL uses the physical table name: tblActivityRollups → tbl_activity_rollups)
+    @Transactional
+    @Modifying
+    @Query(value = "insert into tbl_activity_rollups (granularity, bucket_start, metric, author_key, event_count) " +
+            "values (:granularity, :bucketStart, :metric, :authorKey, :delta) " +
+            "on duplicate key update event_count = event_count + values(event_count)",
+            nativeQuery = true)
+    int addToBucket(@Param("granularity") String granularity,
+                    @Param("bucketStart") LocalDateTime bucketStart,
+                    @Param("metric") String metric,
+                    @Param("authorKey") String authorKey,
+                    @Param("delta") long delta);
+
+    // Buckets of one granularity and author key (or the totals) in [from, to)
+    // (matches uk_rollup_bucket's column order, so it is one index range scan)
+    @Query("select r from ActivityRollup r where r.authorKey = :authorKey " +
+            "and r.granularity = :granularity and r.bucketStart >= :from and r.bucketStart < :to")
+    List<ActivityRollup> findBuckets(@Param("granularity") ActivityRollup.Granularity granularity,
+                                     @Param("authorKey") String authorKey,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to);
+
+    // Most active authors for one metric in [from, to)
+    @Query("select new backend.DTO.AuthorActivityDTO(r.authorKey, sum(r.count)) from ActivityRollup r " +
+            "where r.metric = :metric and r.authorKey <> '' " +
+            "and r.bucketStart >= :from and r.bucketStart < :to " +
+            "group by r.authorKey order by sum(r.count) desc")
+    List<AuthorActivityDTO> findTopAuthors(@Param("metric") ActivityRollup.Metric metric,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to,
+                                           Pageable page);
+
+    // ---- Compaction: HOUR buckets before the cutoff → DAY buckets ----
+    // Only the rows locked here are merged and then deleted by id, so an
+    // upsert that commits in between is either blocked until the batch is
+    // done (existing row) or left for the next run (new row), never lost
+
+    @Query(value = "select id from tbl_activity_rollups " +
+            "where granularity = 'HOUR' and bucket_start < :cutoff " +
+            "order by id limit :limit for update",
+            nativeQuery = true)
+    List<Long> lockHoursBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "insert into tbl_activity_rollups (granularity, bucket_start, metric, author_key, event_count) " +
+            "select 'DAY', date(h.bucket_start), h.metric, h.author_key, sum(h.event_count) " +
+            "from tbl_activity_rollups h where h.id in (:ids) " +
+            "group by date(h.bucket_start), h.metric, h.author_key " +
+            "on duplicate key update event_count = event_count + values(event_count)",
+            nativeQuery = true)
+    int mergeHoursIntoDays(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from ActivityRollup r where r.id in :ids")
+    int removeByIdIn(@Param("ids") Collection<Long> ids);
+
+    // ---- One-time backfill from existing rows (runs only while the table is empty) ----
+
+    @Transactional
+    @Modifying
+    @Query(value = "insert into tbl_activity_rollups (granularity, bucket_start, metric, author_key, event_count) " +
+            "select 'DAY', date(p.created_at), 'POSTS', p.author, count(*) from tbl_posts p " +
+            "where p.created_at is not null group by date(p.created_at), p.author " +
+            "union all " +
+            "select 'DAY', date(p.created_at), 'POSTS', '', count(*) from tbl_posts p " +
+            "where p.created_at is not null group by date(p.created_at)",
+            nativeQuery = true)
+    int backfillPosts();
+
+    @Transactional
+    @Modifying
+    @Query(value = "insert into tbl_activity_rollups (granularity, bucket_start, metric, author_key, event_count) " +
+            "select 'DAY', date(c.created_at), 'COMMENTS', a.username, count(*) from tbl_comments c " +
+            "join tbl_accounts a on a.id = c.user_id group by date(c.created_at), a.username " +
+            "union all " +
+            "select 'DAY', date(c.created_at), 'COMMENTS', '', count(*) from tbl_comments c " +
+            "group by date(c.created_at)",
+            nativeQuery = true)
+    int backfillComments();
+}
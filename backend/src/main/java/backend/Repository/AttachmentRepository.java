@@ -0,0 +1,25 @@
+package backend.Repository;
+
+import backend.Model.Attachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
+
+    // 1. All files of one post
+    List<Attachment> findByPostId(Long postId);
+
+    // 2. One file, only if it really belongs to the given post
+    Optional<Attachment> findByIdAndPostId(Long id, Long postId);
+
+    // 2b. All files of several posts (bulk delete)
+    List<Attachment> findByPostIdIn(Collection<Long> postIds);
+
+    // 3. Used to decide whether a stored file is still referenced
+    boolean existsByContentHash(String contentHash);
+}
@@ -1,9 +1,15 @@
 package backend.Repository;
 
 import backend.Model.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional; // Imported Optional just in case
 
@@ -16,4 +22,95 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     // 2. Needed for your Blog Posts to show specific comments
     List<Comment> findByPostId(Long postId);
-}
\ No newline at end of file
+
+    // 3. Raw (still uncompressed) bodies above a length - used by the compression migration
+    //    (native SQL uses the physical table name: Spring's naming strategy turns tblComments into tbl_comments)
+    @Query(value = "SELECT id, content FROM tbl_comments " +
+            "WHERE id > :afterId AND CHAR_LENGTH(content) >= :minLength AND content NOT LIKE :compressedPattern " +
+            "ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<StoredBody> findUncompressedBodies(@Param("afterId") long afterId,
+                                            @Param("minLength") int minLength,
+                                            @Param("compressedPattern") String compressedPattern,
+                                            @Param("limit") int limit);
+
+    // 4. Rewrite the stored body only if nobody changed it in the meantime
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE tbl_comments SET content = :stored WHERE id = :id AND content = :expected", nativeQuery = true)
+    int replaceStoredContent(@Param("id") Long id,
+                             @Param("expected") String expected,
+                             @Param("stored") String stored);
+
+    // ========================================
+    // Threads (materialized path, see Comment)
+    // ========================================
+
+    // 5. Whole thread of a post, depth-first (parents before their replies)
+    @Query("select c from Comment c where c.postId = :postId and c.path is not null order by c.path")
+    List<Comment> findThreadByPostId(@Param("postId") Long postId);
+
+    // 6. Next page of top-level comments after a path cursor
+    @Query("select c from Comment c where c.postId = :postId and c.depth = 0 and c.path > :afterPath order by c.path")
+    List<Comment> findTopLevelAfter(@Param("postId") Long postId,
+                                    @Param("afterPath") String afterPath,
+                                    Pageable page);
+
+    // 7. Every comment whose path is in [fromPath, toPath) - one subtree or several adjacent ones
+    @Query("select c from Comment c where c.postId = :postId and c.path >= :fromPath and c.path < :toPath order by c.path")
+    List<Comment> findByPathRange(@Param("postId") Long postId,
+                                  @Param("fromPath") String fromPath,
+                                  @Param("toPath") String toPath);
+
+    // 7b. Ids only (bulk delete of whole subtrees)
+    @Query("select c.id from Comment c where c.postId = :postId and c.path >= :fromPath and c.path < :toPath")
+    List<Long> findIdsByPathRange(@Param("postId") Long postId,
+                                  @Param("fromPath") String fromPath,
+                                  @Param("toPath") String toPath);
+
+    // 8. Give comments written before threading existed a top-level path
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE tbl_comments SET depth = 0, " +
+            "path = CONCAT(LPAD(LOWER(CONV(id, 10, 36)), " + Comment.PATH_SEGMENT_LENGTH + ", '0'), '/') " +
+            "WHERE path IS NULL AND parent_id IS NULL", nativeQuery = true)
+    int backfillTopLevelPaths();
+
+    // ========================================
+    // Bulk operations (chunked, see BulkAdminService)
+    // ========================================
+
+    // 9. Comments matching an optional user / post filter
+    @Query("select count(c) from Comment c where (:userId is null or c.userId = :userId) " +
+            "and (:postId is null or c.postId = :postId)")
+    long countByFilter(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    @Query("select c.id from Comment c where (:userId is null or c.userId = :userId) " +
+            "and (:postId is null or c.postId = :postId) and c.id > :afterId order by c.id")
+    List<Long> findIdsByFilterAfter(@Param("userId") Long userId,
+                                    @Param("postId") Long postId,
+                                    @Param("afterId") long afterId,
+                                    Pageable page);
+
+    // 10. Ids by post (needed for the change journal before a cascade delete)
+    @Query("select c.id from Comment c where c.postId in :postIds")
+    List<Long> findIdsByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    // Comments of purged users, one chunk at a time
+    long countByUserIdIn(Collection<Long> userIds);
+
+    @Query("select c.id from Comment c where c.userId in :userIds and c.id > :afterId order by c.id")
+    List<Long> findIdsByUserIdInAfter(@Param("userIds") Collection<Long> userIds,
+                                      @Param("afterId") long afterId,
+                                      Pageable page);
+
+    // 11. Set-based deletes
+    @Transactional
+    @Modifying
+    @Query("delete from Comment c where c.id in :ids")
+    int removeByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Comment c where c.postId in :postIds")
+    int removeByPostIdIn(@Param("postIds") Collection<Long> postIds);
+}
@@ -0,0 +1,17 @@
+package backend.Repository;
+
+/**
+ * PostHeader
+ *
+ * Projection with the small columns of a post (no TEXT body)
+ *
+ * Used when only "who wrote which post" is needed, e.g. for activity feeds.
+ */
+public interface PostHeader {
+
+    Long getId();
+
+    String getTitle();
+
+    String getAuthor();
+}
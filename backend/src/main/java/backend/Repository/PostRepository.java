@@ -1,9 +1,19 @@
 package backend.Repository;
 
 
+import backend.Compression.CompressedText;
 import backend.Model.Post;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * PostRepository
@@ -20,7 +30,80 @@ import org.springframework.stereotype.Repository;
  * Analogy: Library catalog for blog posts
  */
 @Repository
-public interface PostRepository extends JpaRepository<Post, Long> {
+public interface PostRepository extends JpaRepository<Post, Long>, PostRepositoryCustom {
     // Spring Boot auto-implements all methods
-    // No need to write any code here!
+
+    // ---- Re-rendering after a renderer upgrade (see RenderMigrationService) ----
+
+    @Query("select p from Post p where p.rendererVersion < :rendererVersion and p.id > :afterId order by p.id")
+    List<Post> findNeedingRender(@Param("rendererVersion") int rendererVersion,
+                                 @Param("afterId") long afterId,
+                                 Pageable page);
+
+    // Only if the post wasn't edited since it was loaded (an edit renders by itself)
+    // The post's version is NOT bumped: re-rendering is not a user edit
+    @Transactional
+    @Modifying
+    @Query("update Post p set p.contentHtml = :html, p.excerpt = :excerpt, " +
+            "p.readingTimeMinutes = :minutes, p.rendererVersion = :rendererVersion " +
+            "where p.id = :id and p.version = :version")
+    int replaceRendered(@Param("id") Long id,
+                        @Param("version") Long version,
+                        @Param("html") CompressedText html,
+                        @Param("excerpt") String excerpt,
+                        @Param("minutes") int minutes,
+                        @Param("rendererVersion") int rendererVersion);
+
+    // Title and author only (the body column is not read)
+    @Query("select p.id as id, p.title as title, p.author as author from Post p where p.id = :id")
+    Optional<PostHeader> findHeaderById(@Param("id") Long id);
+
+    // Single "DELETE ... WHERE id = ?" - returns rows deleted (0 = not found)
+    @Transactional
+    @Modifying
+    @Query("delete from Post p where p.id = :id")
+    int removeById(@Param("id") Long id);
+
+    // ---- Bulk operations (chunked, see BulkAdminService) ----
+
+    long countByAuthor(String author);
+
+    @Query("select p.id from Post p where p.author = :author and p.id > :afterId order by p.id")
+    List<Long> findIdsByAuthorAfter(@Param("author") String author,
+                                    @Param("afterId") long afterId,
+                                    Pageable page);
+
+    // Posts of purged users, one chunk at a time
+    long countByAuthorIn(Collection<String> authors);
+
+    @Query("select p.id from Post p where p.author in :authors and p.id > :afterId order by p.id")
+    List<Long> findIdsByAuthorInAfter(@Param("authors") Collection<String> authors,
+                                      @Param("afterId") long afterId,
+                                      Pageable page);
+
+    @Query("select p.id from Post p where p.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Post p where p.id in :ids")
+    int removeByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Raw (still uncompressed) bodies above a length, in id order - used by the compression migration
+    // (native SQL uses the physical table name: Spring's naming strategy turns tblPosts into tbl_posts)
+    @Query(value = "SELECT id, content FROM tbl_posts " +
+            "WHERE id > :afterId AND CHAR_LENGTH(content) >= :minLength AND content NOT LIKE :compressedPattern " +
+            "ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<StoredBody> findUncompressedBodies(@Param("afterId") long afterId,
+                                            @Param("minLength") int minLength,
+                                            @Param("compressedPattern") String compressedPattern,
+                                            @Param("limit") int limit);
+
+    // Rewrite the stored body only if nobody changed it in the meantime
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE tbl_posts SET content = :stored WHERE id = :id AND content = :expected", nativeQuery = true)
+    int replaceStoredContent(@Param("id") Long id,
+                             @Param("expected") String expected,
+                             @Param("stored") String stored);
 }
\ No newline at end of file
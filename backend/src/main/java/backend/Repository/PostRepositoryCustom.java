@@ -0,0 +1,23 @@
+package backend.Repository;
+
+import backend.Rendering.RenderedContent;
+
+/**
+ * PostRepositoryCustom
+ *
+ * Hand-written queries that Spring Data can't derive
+ * (implemented in PostRepositoryImpl)
+ */
+public interface PostRepositoryCustom {
+
+    /*
+        Partial update in ONE "UPDATE ... WHERE id = ? [AND version = ?]" statement
+        - null title/content = leave unchanged
+        - rendered = output for the new content (set together with it, null if content is null)
+        - expectedVersion null = skip the version check (last write wins)
+        - always bumps the version
+
+        Returns the number of rows changed (0 or 1)
+    */
+    int updateFields(Long id, Long expectedVersion, String title, String content, RenderedContent rendered);
+}
@@ -0,0 +1,54 @@
+package backend.Repository;
+
+import backend.Compression.CompressedText;
+import backend.Model.Post;
+import backend.Rendering.RenderedContent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * PostRepositoryImpl
+ *
+ * Spring Data picks this up by name and merges it into PostRepository
+ */
+public class PostRepositoryImpl implements PostRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int updateFields(Long id, Long expectedVersion, String title, String content, RenderedContent rendered) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Post> update = cb.createCriteriaUpdate(Post.class);
+        Root<Post> post = update.from(Post.class);
+
+        if (title != null) {
+            update.set(post.<String>get("title"), title);
+        }
+        if (content != null) {
+            // Goes through the same converter as normal saves (compression)
+            update.set(post.<CompressedText>get("content"), CompressedText.of(content));
+        }
+        if (rendered != null) {
+            update.set(post.<CompressedText>get("contentHtml"), CompressedText.of(rendered.html()));
+            update.set(post.<String>get("excerpt"), rendered.excerpt());
+            update.set(post.<Integer>get("readingTimeMinutes"), rendered.readingTimeMinutes());
+            update.set(post.<Integer>get("rendererVersion"), rendered.rendererVersion());
+        }
+        update.set(post.<Long>get("version"), cb.sum(post.<Long>get("version"), 1L));
+
+        Predicate where = cb.equal(post.get("id"), id);
+        if (expectedVersion != null) {
+            where = cb.and(where, cb.equal(post.get("version"), expectedVersion));
+        }
+        update.where(where);
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
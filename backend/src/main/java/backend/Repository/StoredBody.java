@@ -0,0 +1,16 @@
+package backend.Repository;
+
+/**
+ * StoredBody
+ *
+ * Projection for native queries that read a raw TEXT body column
+ * exactly as stored (no JPA converter involved)
+ *
+ * Used by the background compression migration.
+ */
+public interface StoredBody {
+
+    Long getId();
+
+    String getContent();
+}
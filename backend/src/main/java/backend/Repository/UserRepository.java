@@ -1,11 +1,66 @@
 package backend.Repository;
 
+import backend.DTO.UserSummaryDTO;
 import backend.Model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     // Custom method to find a user by username and password
     Optional<User> findByUsername(String username);
+
+    // Index-only lookup (uk_accounts_username)
+    boolean existsByUsername(String username);
+
+    // Posts reference their author by username; this maps it to the account id
+    @Query("select u.id from User u where u.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
+
+    // Id-ordered batches of summaries (used to warm up the username Bloom filter)
+    @Query("select new backend.DTO.UserSummaryDTO(u.id, u.username, u.role) from User u " +
+            "where u.id > :afterId order by u.id")
+    List<UserSummaryDTO> findSummariesAfter(@Param("afterId") long afterId, Pageable page);
+
+    // Public projection for many users at once (one IN query, no password column)
+    @Query("select new backend.DTO.UserSummaryDTO(u.id, u.username, u.role) from User u where u.id in :ids")
+    List<UserSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Single "DELETE ... WHERE id = ?" - returns rows deleted (0 = not found)
+    @Transactional
+    @Modifying
+    @Query("delete from User u where u.id = :id")
+    int removeById(@Param("id") Long id);
+
+    // ---- Bulk operations (chunked, see BulkAdminService) ----
+
+    long countByRole(String role);
+
+    @Query("select u.id from User u where u.role = :role and u.id > :afterId order by u.id")
+    List<Long> findIdsByRoleAfter(@Param("role") String role,
+                                  @Param("afterId") long afterId,
+                                  Pageable page);
+
+    @Query("select u.id from User u where u.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select u.username from User u where u.id in :ids")
+    List<String> findUsernamesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("delete from User u where u.id in :ids")
+    int removeByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.role = :role, u.version = u.version + 1 where u.id in :ids")
+    int updateRoleByIdIn(@Param("ids") Collection<Long> ids, @Param("role") String role);
 }
@@ -0,0 +1,39 @@
+package backend.Repository;
+
+import backend.DTO.UserListItemDTO;
+
+import java.util.List;
+
+/**
+ * UserRepositoryCustom
+ *
+ * Hand-written queries that Spring Data can't derive
+ * (implemented in UserRepositoryImpl)
+ */
+public interface UserRepositoryCustom {
+
+    /*
+        Partial update in ONE "UPDATE ... WHERE id = ? [AND version = ?]" statement
+        - null fields = leave unchanged (hashedPassword must already be encoded)
+        - expectedVersion null = skip the version check (last write wins)
+        - always bumps the version
+
+        Returns the number of rows changed (0 or 1)
+    */
+    int updateFields(Long id, Long expectedVersion,
+                     String username, String email, String role, String hashedPassword);
+
+    // Sort keys of the admin listing (both unique, so they work as keyset cursors)
+    enum SortBy { ID, USERNAME }
+
+    /*
+        One page of the admin listing, without the password column
+        - Filters are optional (null = no filter): username prefix, exact email, exact role
+        - Keyset pagination: afterId / afterUsername is the sort key of the
+          previous page's last row (null = first page), so deep pages cost
+          the same as the first one
+    */
+    List<UserListItemDTO> findPage(String usernamePrefix, String email, String role,
+                                   SortBy sortBy, boolean descending,
+                                   Long afterId, String afterUsername, int limit);
+}
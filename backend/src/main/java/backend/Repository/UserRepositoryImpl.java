@@ -0,0 +1,108 @@
+package backend.Repository;
+
+import backend.DTO.UserListItemDTO;
+import backend.Model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * UserRepositoryImpl
+ *
+ * Spring Data picks this up by name and merges it into UserRepository
+ */
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int updateFields(Long id, Long expectedVersion,
+                            String username, String email, String role, String hashedPassword) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<User> update = cb.createCriteriaUpdate(User.class);
+        Root<User> user = update.from(User.class);
+
+        if (username != null) {
+            update.set(user.<String>get("username"), username);
+        }
+        if (email != null) {
+            update.set(user.<String>get("email"), email);
+        }
+        if (role != null) {
+            update.set(user.<String>get("role"), role);
+        }
+        if (hashedPassword != null) {
+            update.set(user.<String>get("password"), hashedPassword);
+        }
+        update.set(user.<Long>get("version"), cb.sum(user.<Long>get("version"), 1L));
+
+        Predicate where = cb.equal(user.get("id"), id);
+        if (expectedVersion != null) {
+            where = cb.and(where, cb.equal(user.get("version"), expectedVersion));
+        }
+        update.where(where);
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public List<UserListItemDTO> findPage(String usernamePrefix, String email, String role,
+                                          SortBy sortBy, boolean descending,
+                                          Long afterId, String afterUsername, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserListItemDTO> query = cb.createQuery(UserListItemDTO.class);
+        Root<User> user = query.from(User.class);
+
+        query.select(cb.construct(UserListItemDTO.class,
+                user.get("id"), user.get("username"), user.get("email"),
+                user.get("role"), user.get("version")));
+
+        List<Predicate> where = new ArrayList<>();
+        if (usernamePrefix != null) {
+            // Prefix LIKE can use the username index
+            where.add(cb.like(user.get("username"), escapeLike(usernamePrefix) + "%", '\\'));
+        }
+        if (email != null) {
+            where.add(cb.equal(user.get("email"), email));
+        }
+        if (role != null) {
+            where.add(cb.equal(user.get("role"), role));
+        }
+
+        if (sortBy == SortBy.USERNAME) {
+            Path<String> key = user.get("username");
+            if (afterUsername != null) {
+                where.add(descending ? cb.lessThan(key, afterUsername) : cb.greaterThan(key, afterUsername));
+            }
+            query.orderBy(descending ? cb.desc(key) : cb.asc(key));
+        } else {
+            Path<Long> key = user.get("id");
+            if (afterId != null) {
+                where.add(descending ? cb.lessThan(key, afterId) : cb.greaterThan(key, afterId));
+            }
+            query.orderBy(descending ? cb.desc(key) : cb.asc(key));
+        }
+
+        query.where(where.toArray(new Predicate[0]));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // "%" and "_" typed by the admin are literal characters, not wildcards
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
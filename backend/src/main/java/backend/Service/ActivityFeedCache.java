@@ -0,0 +1,185 @@
+package backend.Service;
+
+import backend.Model.ActivityFeedEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * ActivityFeedCache
+ *
+ * Recent feed entries of hot users, kept in memory
+ *
+ * - One fixed-size ring buffer per user (newest N entries, oldest dropped first)
+ * - At most blog.feed.cache-users rings (least recently read user dropped first)
+ * - New entries are pushed into an existing ring after their transaction commits
+ *
+ * Stale-fill protection: every write / eviction bumps a stamp for the user's
+ * slot. A ring loaded from the database is only installed if the stamp did not
+ * change while it was loading, so a write that committed in between can't be lost.
+ */
+@Component
+public class ActivityFeedCache {
+
+    private static final int STAMP_SLOTS = 256;
+
+    private final int ringCapacity;
+    private final Map<Long, Ring> rings;
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_SLOTS);
+
+    public ActivityFeedCache(@Value("${blog.feed.ring-size:50}") int ringCapacity,
+                             @Value("${blog.feed.cache-users:1000}") int maxUsers) {
+        this.ringCapacity = ringCapacity;
+        this.rings = Collections.synchronizedMap(
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Long, Ring> eldest) {
+                        return size() > maxUsers;
+                    }
+                });
+    }
+
+    public int getRingCapacity() {
+        return ringCapacity;
+    }
+
+    // Take before loading from the database, pass to install()
+    public long stamp(Long userId) {
+        return stamps.get(slot(userId));
+    }
+
+    /*
+        Page from memory, newest first, ids below beforeId (null = from the newest)
+        Returns null when the ring can't answer it (not cached, or the page
+        reaches past the oldest entry still kept)
+    */
+    public List<ActivityFeedEntry> read(Long userId, Long beforeId, int limit) {
+        Ring ring = rings.get(userId);
+        return ring == null ? null : ring.read(beforeId, limit);
+    }
+
+    // newestFirst = the user's latest entries (at most ringCapacity), as loaded
+    public void install(Long userId, List<ActivityFeedEntry> newestFirst, long stamp) {
+        Ring ring = new Ring(ringCapacity);
+        for (int i = newestFirst.size() - 1; i >= 0; i--) {
+            ring.add(newestFirst.get(i));
+        }
+        // Fewer than a full ring = the user's whole history is in memory
+        ring.complete = newestFirst.size() < ringCapacity;
+
+        synchronized (rings) {
+            if (stamps.get(slot(userId)) == stamp) {
+                rings.put(userId, ring);
+            }
+        }
+    }
+
+    // A new entry committed
+    public void add(ActivityFeedEntry entry) {
+        synchronized (rings) {
+            stamps.incrementAndGet(slot(entry.getUserId()));
+            Ring ring = rings.get(entry.getUserId());
+            if (ring != null) {
+                ring.add(entry);
+            }
+        }
+    }
+
+    // Entries of these users were deleted
+    public void evict(Collection<Long> userIds) {
+        synchronized (rings) {
+            for (Long userId : userIds) {
+                stamps.incrementAndGet(slot(userId));
+                rings.remove(userId);
+            }
+        }
+    }
+
+    private static int slot(Long userId) {
+        return (int) Math.floorMod(userId, (long) STAMP_SLOTS);
+    }
+
+    /*
+        Fixed-size ring, entries in ascending id order from head (oldest)
+        Commits can finish out of id order, so add() inserts in place
+    */
+    private static final class Ring {
+
+        private final ActivityFeedEntry[] entries;
+        private int head = 0;
+        private int size = 0;
+
+        // true while nothing older than the ring's oldest entry exists
+        private boolean complete = false;
+
+        Ring(int capacity) {
+            this.entries = new ActivityFeedEntry[capacity];
+        }
+
+        synchronized void add(ActivityFeedEntry entry) {
+            int capacity = entries.length;
+
+            // Already there: a ring loaded after the commit but installed before
+            // this entry's afterCommit add() ran
+            if (contains(entry.getId())) {
+                return;
+            }
+
+            if (size == capacity) {
+                // Older than everything kept: it would be dropped right away
+                if (entry.getId() < at(0).getId()) {
+                    complete = false;
+                    return;
+                }
+                head = (head + 1) % capacity;
+                size--;
+                complete = false;
+            }
+
+            // Shift newer entries one slot up until the new one fits
+            int i = size;
+            while (i > 0 && at(i - 1).getId() > entry.getId()) {
+                entries[(head + i) % capacity] = at(i - 1);
+                i--;
+            }
+            entries[(head + i) % capacity] = entry;
+            size++;
+        }
+
+        synchronized List<ActivityFeedEntry> read(Long beforeId, int limit) {
+            List<ActivityFeedEntry> page = new ArrayList<>(Math.min(limit, size));
+            for (int i = size - 1; i >= 0 && page.size() < limit; i--) {
+                ActivityFeedEntry entry = at(i);
+                if (beforeId == null || entry.getId() < beforeId) {
+                    page.add(entry);
+                }
+            }
+            return page.size() == limit || complete ? page : null;
+        }
+
+        // Newest entries sit at the end, so this usually stops after a step or two
+        private boolean contains(long id) {
+            for (int i = size - 1; i >= 0; i--) {
+                long current = at(i).getId();
+                if (current == id) {
+                    return true;
+                }
+                if (current < id) {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        private ActivityFeedEntry at(int index) {
+            return entries[(head + index) % entries.length];
+        }
+    }
+}
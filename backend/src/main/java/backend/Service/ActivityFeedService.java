@@ -0,0 +1,175 @@
+package backend.Service;
+
+import backend.DTO.ActivityFeedPageDTO;
+import backend.Model.ActivityFeedEntry;
+import backend.Model.ActivityFeedEntry.Type;
+import backend.Model.Comment;
+import backend.Model.Post;
+import backend.Repository.ActivityFeedRepository;
+import backend.Repository.PostRepository;
+import backend.Repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/*
+    📰 ACTIVITY FEED ("my activity")
+    - Entries are written together with the post / comment they describe
+      (same transaction), so reading a timeline never joins posts and comments
+    - Timelines are read newest first with an id cursor (keyset)
+    - Recent pages of hot users come from ActivityFeedCache
+*/
+@Service
+public class ActivityFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityFeedService.class);
+
+    private final ActivityFeedRepository feedRepository;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final ActivityFeedCache feedCache;
+
+    public ActivityFeedService(ActivityFeedRepository feedRepository,
+                               PostRepository postRepository,
+                               UserRepository userRepository,
+                               ActivityFeedCache feedCache) {
+        this.feedRepository = feedRepository;
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.feedCache = feedCache;
+    }
+
+    // ========================================
+    // Writing (called inside the creating transaction)
+    // ========================================
+
+    // POST_CREATED for the author (posts name their author by username)
+    public void postCreated(Post post) {
+        userRepository.findIdByUsername(post.getAuthor()).ifPresent(authorId ->
+                write(new ActivityFeedEntry(authorId, Type.POST_CREATED, authorId,
+                        post.getId(), null, post.getTitle(), post.getCreatedAt())));
+    }
+
+    // COMMENT_CREATED for the commenter, COMMENT_RECEIVED for the post's author
+    public void commentCreated(Comment comment) {
+        postRepository.findHeaderById(comment.getPostId()).ifPresent(post -> {
+            write(new ActivityFeedEntry(comment.getUserId(), Type.COMMENT_CREATED, comment.getUserId(),
+                    post.getId(), comment.getId(), post.getTitle(), comment.getCreatedAt()));
+
+            userRepository.findIdByUsername(post.getAuthor())
+                    .filter(authorId -> !Objects.equals(authorId, comment.getUserId()))
+                    .ifPresent(authorId ->
+                            write(new ActivityFeedEntry(authorId, Type.COMMENT_RECEIVED, comment.getUserId(),
+                                    post.getId(), comment.getId(), post.getTitle(), comment.getCreatedAt())));
+        });
+    }
+
+    private void write(ActivityFeedEntry entry) {
+        ActivityFeedEntry saved = feedRepository.save(entry);
+        afterCommit(() -> feedCache.add(saved));
+    }
+
+    // ========================================
+    // Cleanup (called inside the deleting transaction)
+    // ========================================
+
+    public void postsDeleted(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        List<Long> userIds = feedRepository.findUserIdsByPostIdIn(postIds);
+        if (!userIds.isEmpty()) {
+            feedRepository.removeByPostIdIn(postIds);
+            afterCommit(() -> feedCache.evict(userIds));
+        }
+    }
+
+    public void commentsDeleted(Collection<Long> commentIds) {
+        if (commentIds.isEmpty()) {
+            return;
+        }
+        List<Long> userIds = feedRepository.findUserIdsByCommentIdIn(commentIds);
+        if (!userIds.isEmpty()) {
+            feedRepository.removeByCommentIdIn(commentIds);
+            afterCommit(() -> feedCache.evict(userIds));
+        }
+    }
+
+    public void usersDeleted(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        feedRepository.removeByUserIdIn(userIds);
+        afterCommit(() -> feedCache.evict(userIds));
+    }
+
+    // The cache only ever sees committed entries
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // ========================================
+    // Reading
+    // ========================================
+
+    /*
+        One page of a user's timeline, newest first
+        - before = nextCursor of the previous page (null = newest entries)
+        - First pages of hot users are answered from memory
+    */
+    public ActivityFeedPageDTO getFeed(Long userId, Long before, int limit) {
+
+        List<ActivityFeedEntry> entries = feedCache.read(userId, before, limit);
+
+        if (entries == null && before == null && limit <= feedCache.getRingCapacity()) {
+            // Load the ring once, then answer from it
+            long stamp = feedCache.stamp(userId);
+            List<ActivityFeedEntry> latest = feedRepository.findPage(
+                    userId, Long.MAX_VALUE, PageRequest.of(0, feedCache.getRingCapacity()));
+            feedCache.install(userId, latest, stamp);
+            entries = latest.subList(0, Math.min(limit, latest.size()));
+        }
+
+        if (entries == null) {
+            entries = feedRepository.findPage(
+                    userId, before == null ? Long.MAX_VALUE : before, PageRequest.of(0, limit));
+        }
+
+        Long nextCursor = entries.size() < limit ? null : entries.get(entries.size() - 1).getId();
+        return new ActivityFeedPageDTO(List.copyOf(entries), nextCursor);
+    }
+
+    // ========================================
+    // Backfill
+    // ========================================
+
+    // First start with feeds: build entries for the posts and comments already there
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (feedRepository.count() > 0) {
+            return;
+        }
+        int rows = feedRepository.backfill();
+        if (rows > 0) {
+            log.info("Built {} activity feed entries from existing posts and comments", rows);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package backend.Service;
+
+import backend.DTO.ActivityPointDTO;
+import backend.DTO.AuthorActivityDTO;
+import backend.Model.ActivityRollup;
+import backend.Model.ActivityRollup.Granularity;
+import backend.Model.ActivityRollup.Metric;
+import backend.Repository.ActivityRollupRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+    📈 ACTIVITY ROLLUPS (admin dashboard charts)
+    - Every new user / post / comment bumps an in-memory counter for its hour
+    - Counters are flushed every few seconds as "add N to bucket" upserts,
+      so a busy hour costs a few statements, not one per write
+    - Old HOUR buckets are compacted into DAY buckets once an hour
+    - Charts read at most (days + recent hours) rows per author key,
+      no matter how big tblPosts / tblComments get
+*/
+@Service
+public class ActivityRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityRollupService.class);
+
+    // Hour rows merged per compaction transaction
+    private static final int COMPACT_BATCH = 1000;
+
+    // Pending (not yet flushed) counts per hour bucket
+    private record BucketKey(LocalDateTime hour, Metric metric, String authorKey) {}
+
+    private final Map<BucketKey, LongAdder> pending = new ConcurrentHashMap<>();
+
+    private final ActivityRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int hourlyRetentionDays;
+    private final int maxBuckets;
+
+    public ActivityRollupService(ActivityRollupRepository rollupRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${blog.rollups.hourly-retention-days:2}") int hourlyRetentionDays,
+                                 @Value("${blog.rollups.max-buckets:2000}") int maxBuckets) {
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.hourlyRetentionDays = hourlyRetentionDays;
+        this.maxBuckets = maxBuckets;
+    }
+
+    // ========================================
+    // Recording (called on write)
+    // ========================================
+
+    // author may be null (e.g. new users are only counted in the totals)
+    public void record(Metric metric, String author, LocalDateTime at) {
+        LocalDateTime hour = (at == null ? LocalDateTime.now() : at).truncatedTo(ChronoUnit.HOURS);
+
+        add(new BucketKey(hour, metric, ActivityRollup.TOTAL), 1);
+        if (author != null && !author.isEmpty()) {
+            add(new BucketKey(hour, metric, author), 1);
+        }
+    }
+
+    // compute() runs under the map's lock for the key, so it can't race the
+    // remove() in flush(): an increment lands in the map's current counter
+    private void add(BucketKey key, long delta) {
+        pending.compute(key, (k, counter) -> {
+            LongAdder target = counter == null ? new LongAdder() : counter;
+            target.add(delta);
+            return target;
+        });
+    }
+
+    /*
+        Write pending counts to the database
+        - Current hour: sumThenReset() never loses a concurrent increment,
+          it is either part of this flush or the next one
+        - Past hours: the counter is removed from the map first, so no
+          increment can reach it any more, and then read out
+        - A failed write puts its count back for the next flush
+    */
+    @Scheduled(fixedDelayString = "${blog.rollups.flush-delay-ms:5000}")
+    @PreDestroy
+    public void flush() {
+        LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+        pending.forEach((key, counter) -> {
+            if (key.hour().isBefore(currentHour)) {
+                if (pending.remove(key, counter)) {
+                    write(key, counter.sumThenReset());
+                }
+            } else {
+                write(key, counter.sumThenReset());
+            }
+        });
+    }
+
+    private void write(BucketKey key, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        try {
+            rollupRepository.addToBucket(Granularity.HOUR.name(), key.hour(),
+                    key.metric().name(), key.authorKey(), delta);
+        } catch (RuntimeException e) {
+            add(key, delta); // retry on the next flush
+            log.warn("Activity rollup flush failed: {}", e.getMessage());
+        }
+    }
+
+    // ========================================
+    // Compaction (HOUR → DAY)
+    // ========================================
+
+    /*
+        Hours of whole days older than the retention window become one DAY row each
+        - Batches of COMPACT_BATCH hour rows, each in its own transaction
+        - A batch locks its rows first and deletes exactly those ids, so a
+          flush() upsert racing the compaction can't be deleted unmerged
+    */
+    @Scheduled(cron = "${blog.rollups.compact-cron:0 15 * * * *}")
+    public void compact() {
+        LocalDateTime cutoff = LocalDate.now().minusDays(hourlyRetentionDays).atStartOfDay();
+
+        int compacted = 0;
+        while (true) {
+            Integer rows = transactionTemplate.execute(status -> {
+                List<Long> ids = rollupRepository.lockHoursBefore(cutoff, COMPACT_BATCH);
+                if (!ids.isEmpty()) {
+                    rollupRepository.mergeHoursIntoDays(ids);
+                    rollupRepository.removeByIdIn(ids);
+                }
+                return ids.size();
+            });
+            if (rows == null || rows == 0) {
+                break;
+            }
+            compacted += rows;
+            if (rows < COMPACT_BATCH) {
+                break;
+            }
+        }
+
+        if (compacted > 0) {
+            log.info("Compacted {} hourly activity buckets before {} into daily buckets", compacted, cutoff);
+        }
+    }
+
+    // ========================================
+    // Reading
+    // ========================================
+
+    /*
+        Activity per bucket in [from, to)
+        - author = null → site-wide totals
+        - HOUR granularity only has hour detail for the retention window;
+          older days show up as one bucket at midnight
+        - Empty buckets are included (zeros), so charts need no gap filling
+        - Throws IllegalArgumentException for an empty or too large range
+    */
+    public List<ActivityPointDTO> getActivity(LocalDateTime from, LocalDateTime to,
+                                              Granularity granularity, String author) {
+
+        ChronoUnit unit = granularity == Granularity.HOUR ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+        LocalDateTime start = from.truncatedTo(unit);
+
+        if (!start.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if (unit.between(start, to) > maxBuckets) {
+            throw new IllegalArgumentException("Range too large: at most " + maxBuckets + " buckets");
+        }
+
+        TreeMap<LocalDateTime, ActivityPointDTO> points = new TreeMap<>();
+        for (LocalDateTime t = start; t.isBefore(to); t = t.plus(1, unit)) {
+            points.put(t, new ActivityPointDTO(t));
+        }
+
+        // Each event is in exactly one row: recent ones in HOUR buckets, older
+        // (compacted or backfilled) ones in DAY buckets, so both are summed
+        String authorKey = author == null ? ActivityRollup.TOTAL : author;
+        List<ActivityRollup> rows = new ArrayList<>(
+                rollupRepository.findBuckets(Granularity.DAY, authorKey, start, to));
+        rows.addAll(rollupRepository.findBuckets(Granularity.HOUR, authorKey, start, to));
+
+        for (ActivityRollup row : rows) {
+            ActivityPointDTO point = points.floorEntry(row.getBucketStart()).getValue();
+            switch (row.getMetric()) {
+                case USERS -> point.setNewUsers(point.getNewUsers() + row.getCount());
+                case POSTS -> point.setNewPosts(point.getNewPosts() + row.getCount());
+                case COMMENTS -> point.setNewComments(point.getNewComments() + row.getCount());
+            }
+        }
+
+        return new ArrayList<>(points.values());
+    }
+
+    // Per-author breakdown: most active authors for one metric in [from, to)
+    public List<AuthorActivityDTO> getTopAuthors(Metric metric, LocalDateTime from, LocalDateTime to, int limit) {
+        return rollupRepository.findTopAuthors(metric, from, to, PageRequest.of(0, limit));
+    }
+
+    // ========================================
+    // Backfill
+    // ========================================
+
+    // First start with rollups: seed DAY buckets from the posts and comments already there
+    // (user sign-up times were never stored, so users are only counted from now on)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (rollupRepository.count() > 0) {
+            return;
+        }
+        int rows = rollupRepository.backfillPosts() + rollupRepository.backfillComments();
+        if (rows > 0) {
+            log.info("Seeded {} daily activity buckets from existing posts and comments", rows);
+        }
+    }
+}
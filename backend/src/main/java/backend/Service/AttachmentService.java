@@ -0,0 +1,179 @@
+package backend.Service;
+
+import backend.Model.Attachment;
+import backend.Repository.AttachmentRepository;
+import backend.Repository.PostRepository;
+import backend.Storage.ContentStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/*
+    📎 ATTACHMENT SERVICE
+    - Metadata in MySQL (tblAttachments)
+    - Bytes in the content-addressed ContentStore
+    - Identical files are stored once and shared between rows
+    - A file is only removed once the last row pointing at it is gone (and
+      committed); uploads and removals of the same hash take the same lock,
+      so an upload can't dedup onto a file that is about to be deleted
+*/
+@Service
+public class AttachmentService {
+
+    private final AttachmentRepository attachmentRepository;
+    private final PostRepository postRepository;
+    private final ContentStore contentStore;
+    private final long maxUploadBytes;
+
+    // Striped by content hash; in-process is enough since the store is a local directory
+    private final ReentrantLock[] hashLocks = new ReentrantLock[64];
+
+    public AttachmentService(AttachmentRepository attachmentRepository,
+                             PostRepository postRepository,
+                             ContentStore contentStore,
+                             @Value("${blog.attachments.max-size-bytes:26214400}") long maxUploadBytes) {
+        this.attachmentRepository = attachmentRepository;
+        this.postRepository = postRepository;
+        this.contentStore = contentStore;
+        this.maxUploadBytes = maxUploadBytes;
+        for (int i = 0; i < hashLocks.length; i++) {
+            hashLocks[i] = new ReentrantLock();
+        }
+    }
+
+    // 1. Upload (empty if the post does not exist)
+    public Optional<Attachment> upload(Long postId, String filename, String contentType,
+                                       InputStream body) throws IOException {
+
+        if (!postRepository.existsById(postId)) {
+            return Optional.empty();
+        }
+
+        // The hash is only known once the bytes are on disk: stage first, then file
+        // the object and insert its row under that hash's lock
+        ContentStore.StagedUpload staged = contentStore.stage(body, maxUploadBytes);
+        try {
+            return Optional.of(withHashLock(staged.hash(), () -> {
+                ContentStore.StoredObject stored = publish(staged);
+
+                Attachment attachment = new Attachment(
+                        postId,
+                        stored.hash(),
+                        cleanFilename(filename),
+                        contentType == null || contentType.isBlank() ? "application/octet-stream" : contentType,
+                        stored.size()
+                );
+                return attachmentRepository.save(attachment);
+            }));
+        } finally {
+            contentStore.discard(staged);
+        }
+    }
+
+    // 2. List files of a post
+    public List<Attachment> getAttachments(Long postId) {
+        return attachmentRepository.findByPostId(postId);
+    }
+
+    // 3. Single file metadata
+    public Optional<Attachment> getAttachment(Long postId, Long attachmentId) {
+        return attachmentRepository.findByIdAndPostId(attachmentId, postId);
+    }
+
+    // 4. Where the bytes of an attachment live on disk
+    public Path getFile(Attachment attachment) {
+        return contentStore.pathFor(attachment.getContentHash());
+    }
+
+    // 5. Delete one attachment
+    public boolean deleteAttachment(Long postId, Long attachmentId) {
+        Optional<Attachment> attachment = attachmentRepository.findByIdAndPostId(attachmentId, postId);
+        attachment.ifPresent(this::remove);
+        return attachment.isPresent();
+    }
+
+    // 6. Delete all attachments of a post (called when the post is deleted)
+    public void deleteAttachmentsOfPost(Long postId) {
+        attachmentRepository.findByPostId(postId).forEach(this::remove);
+    }
+
+    // 7. Delete all attachments of several posts (bulk delete)
+    public void deleteAttachmentsOfPosts(Collection<Long> postIds) {
+        if (!postIds.isEmpty()) {
+            attachmentRepository.findByPostIdIn(postIds).forEach(this::remove);
+        }
+    }
+
+    private void remove(Attachment attachment) {
+        attachmentRepository.delete(attachment);
+
+        // A rolled-back delete must keep its file, so the file goes after the commit
+        String hash = attachment.getContentHash();
+        afterCommit(() -> withHashLock(hash, () -> {
+            // Only drop the file once no other (committed) row points at the same content
+            if (!attachmentRepository.existsByContentHash(hash)) {
+                try {
+                    contentStore.delete(hash);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return null;
+        }));
+    }
+
+    private ContentStore.StoredObject publish(ContentStore.StagedUpload staged) {
+        try {
+            return contentStore.publish(staged);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T withHashLock(String hash, Supplier<T> action) {
+        ReentrantLock lock = hashLocks[Math.floorMod(hash.hashCode(), hashLocks.length)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // Keep only the last path segment and a sane length
+    private static String cleanFilename(String filename) {
+        if (filename == null || filename.isBlank()) {
+            return "file";
+        }
+        String name = filename.replace('\\', '/');
+        name = name.substring(name.lastIndexOf('/') + 1).trim();
+        if (name.isEmpty()) {
+            return "file";
+        }
+        return name.length() > 255 ? name.substring(name.length() - 255) : name;
+    }
+}
@@ -0,0 +1,331 @@
+package backend.Service;
+
+import backend.DTO.BulkJobDTO;
+import backend.DTO.BulkRequestDTO;
+import backend.Journal.ChangeJournal;
+import backend.Journal.ChangeType;
+import backend.Model.Comment;
+import backend.Repository.CommentRepository;
+import backend.Repository.PostRepository;
+import backend.Repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.function.ToIntFunction;
+
+/*
+    🧹 BULK ADMIN OPERATIONS
+    - Deletes / updates many posts, comments or users with set-based
+      statements ("... WHERE id IN (...)") instead of one request per row
+    - Work is split into chunks of blog.bulk.chunk-size ids,
+      each chunk in its own transaction
+    - Deleting posts cascades to their comments (one DELETE per chunk)
+    - Deleting comments takes their replies along (path ranges), exactly
+      like a single delete
+    - Purging users' content runs as its own chunks (their posts, then their
+      comments) before the user rows, so one prolific user can't turn a
+      user chunk into one huge transaction
+    - Journal entries, cache evictions and attachment file deletes made in a
+      chunk only take effect once that chunk commits
+    - Selection by filter walks the matching ids in id order (keyset),
+      so a long job never re-reads rows it already handled
+*/
+@Service
+public class BulkAdminService {
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final UserRepository userRepository;
+    private final AttachmentService attachmentService;
+    private final UserService userService;
+    private final ActivityFeedService activityFeedService;
+    private final ChangeJournal changeJournal;
+    private final BulkJobService bulkJobService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public BulkAdminService(PostRepository postRepository,
+                            CommentRepository commentRepository,
+                            UserRepository userRepository,
+                            AttachmentService attachmentService,
+                            UserService userService,
+                            ActivityFeedService activityFeedService,
+                            ChangeJournal changeJournal,
+                            BulkJobService bulkJobService,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${blog.bulk.chunk-size:500}") int chunkSize) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.userRepository = userRepository;
+        this.attachmentService = attachmentService;
+        this.userService = userService;
+        this.activityFeedService = activityFeedService;
+        this.changeJournal = changeJournal;
+        this.bulkJobService = bulkJobService;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    // ==================================================
+    // 📝 POSTS
+    // ==================================================
+
+    // By ids, or by author (username)
+    public BulkJobDTO deletePosts(BulkRequestDTO request) {
+        if (request.hasIds()) {
+            return runByIds("DELETE_POSTS", request.getIds(), true, inOneTransaction(this::deletePostChunk));
+        }
+        String author = request.getAuthor();
+        return runByFilter("DELETE_POSTS",
+                postRepository.countByAuthor(author),
+                afterId -> postRepository.findIdsByAuthorAfter(author, afterId, firstChunk()),
+                inOneTransaction(this::deletePostChunk));
+    }
+
+    private int deletePostChunk(List<Long> ids) {
+        List<Long> postIds = postRepository.findExistingIds(ids);
+        if (postIds.isEmpty()) {
+            return 0;
+        }
+
+        // Cascade: comments of all posts in the chunk in ONE statement
+        List<Long> commentIds = commentRepository.findIdsByPostIdIn(postIds);
+        int affected = commentIds.isEmpty() ? 0 : commentRepository.removeByPostIdIn(postIds);
+
+        attachmentService.deleteAttachmentsOfPosts(postIds);
+        activityFeedService.postsDeleted(postIds);
+        affected += postRepository.removeByIdIn(postIds);
+
+        postIds.forEach(id -> changeJournal.record(ChangeJournal.POST, ChangeType.DELETE, id));
+        commentIds.forEach(id -> changeJournal.record(ChangeJournal.COMMENT, ChangeType.DELETE, id));
+        return affected;
+    }
+
+    // ==================================================
+    // 💬 COMMENTS
+    // ==================================================
+
+    // By ids, or by userId and/or postId (replies go with them)
+    public BulkJobDTO deleteComments(BulkRequestDTO request) {
+        if (request.hasIds()) {
+            return runByIds("DELETE_COMMENTS", request.getIds(), true, inOneTransaction(this::deleteCommentChunk));
+        }
+        Long userId = request.getUserId();
+        Long postId = request.getPostId();
+        return runByFilter("DELETE_COMMENTS",
+                commentRepository.countByFilter(userId, postId),
+                afterId -> commentRepository.findIdsByFilterAfter(userId, postId, afterId, firstChunk()),
+                inOneTransaction(this::deleteCommentChunk));
+    }
+
+    private int deleteCommentChunk(List<Long> ids) {
+        List<Long> commentIds = withReplies(ids);
+        if (commentIds.isEmpty()) {
+            return 0;
+        }
+        int affected = commentRepository.removeByIdIn(commentIds);
+        activityFeedService.commentsDeleted(commentIds);
+        commentIds.forEach(id -> changeJournal.record(ChangeJournal.COMMENT, ChangeType.DELETE, id));
+        return affected;
+    }
+
+    /*
+        The given comments (those that still exist) plus all their replies
+        - One path-range query per subtree root
+        - A comment inside a subtree already taken is not queried again
+        - Comments from before threading (no path) have no replies
+    */
+    private List<Long> withReplies(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Comment> roots = new ArrayList<>(commentRepository.findAllById(ids));
+        roots.sort(Comparator.comparing(Comment::getPostId)
+                .thenComparing(Comment::getPath, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        Set<Long> result = new LinkedHashSet<>();
+        Comment covering = null;
+        for (Comment root : roots) {
+            if (root.getPath() == null) {
+                result.add(root.getId());
+                continue;
+            }
+            // Path order puts a subtree right after its root
+            if (covering != null && covering.getPostId().equals(root.getPostId())
+                    && root.getPath().startsWith(covering.getPath())) {
+                continue;
+            }
+            covering = root;
+            result.addAll(commentRepository.findIdsByPathRange(
+                    root.getPostId(), root.getPath(), Comment.pathUpperBound(root.getPath())));
+        }
+        return new ArrayList<>(result);
+    }
+
+    // ==================================================
+    // 👤 USERS
+    // ==================================================
+
+    /*
+        By ids, or by role; purgeContent also removes their posts and comments
+        - A purge's size isn't known up front, so it always runs in the background
+        - Content rows found for a chunk of users are added to the job's total
+          and counted in its progress like the users themselves
+    */
+    public BulkJobDTO deleteUsers(BulkRequestDTO request) {
+        ChunkWork work = request.isPurgeContent()
+                ? (job, ids) -> {
+                    purgeContentOf(job, ids);
+                    job.addProgress(ids.size(), inTransaction(this::deleteUserChunk, ids));
+                }
+                : inOneTransaction(this::deleteUserChunk);
+
+        if (request.hasIds()) {
+            return runByIds("DELETE_USERS", request.getIds(), !request.isPurgeContent(), work);
+        }
+        String role = request.getRole();
+        return runByFilter("DELETE_USERS",
+                userRepository.countByRole(role),
+                afterId -> userRepository.findIdsByRoleAfter(role, afterId, firstChunk()),
+                work);
+    }
+
+    /*
+        Posts (by author username) then comments (by user id) of these users,
+        each chunk in its own transaction
+        - Replies by other users go too, as with any comment delete
+        - Both walks are keyset over ids that are being deleted, so a chunk
+          that commits is never read again
+    */
+    private void purgeContentOf(BulkJobDTO job, List<Long> ids) {
+        List<Long> userIds = userRepository.findExistingIds(ids);
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        List<String> usernames = userRepository.findUsernamesByIdIn(userIds);
+        if (!usernames.isEmpty()) {
+            job.addToTotal(postRepository.countByAuthorIn(usernames));
+            walk(job, afterId -> postRepository.findIdsByAuthorInAfter(usernames, afterId, firstChunk()),
+                    inOneTransaction(this::deletePostChunk));
+        }
+
+        job.addToTotal(commentRepository.countByUserIdIn(userIds));
+        walk(job, afterId -> commentRepository.findIdsByUserIdInAfter(userIds, afterId, firstChunk()),
+                inOneTransaction(this::deleteCommentChunk));
+    }
+
+    // The user rows only: their content is gone already (or kept)
+    private int deleteUserChunk(List<Long> ids) {
+        List<Long> userIds = userRepository.findExistingIds(ids);
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+
+        int affected = userRepository.removeByIdIn(userIds);
+        activityFeedService.usersDeleted(userIds);
+        userService.evictSummaries(userIds);
+        userIds.forEach(id -> changeJournal.record(ChangeJournal.USER, ChangeType.DELETE, id));
+        return affected;
+    }
+
+    // By ids, or by current role → request.newRole
+    public BulkJobDTO changeUserRoles(BulkRequestDTO request) {
+        String newRole = request.getNewRole();
+        if (request.hasIds()) {
+            return runByIds("CHANGE_ROLES", request.getIds(), true, inOneTransaction(ids -> changeRoleChunk(ids, newRole)));
+        }
+        String role = request.getRole();
+        return runByFilter("CHANGE_ROLES",
+                userRepository.countByRole(role),
+                afterId -> userRepository.findIdsByRoleAfter(role, afterId, firstChunk()),
+                inOneTransaction(ids -> changeRoleChunk(ids, newRole)));
+    }
+
+    private int changeRoleChunk(List<Long> ids, String newRole) {
+        List<Long> userIds = userRepository.findExistingIds(ids);
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        int affected = userRepository.updateRoleByIdIn(userIds, newRole);
+        userService.evictSummaries(userIds);
+        userIds.forEach(id -> changeJournal.record(ChangeJournal.USER, ChangeType.UPDATE, id));
+        return affected;
+    }
+
+    // ==================================================
+    // ⚙️ CHUNKED EXECUTION
+    // ==================================================
+
+    // What to do with one chunk of ids (transactions and progress included)
+    @FunctionalInterface
+    private interface ChunkWork {
+        void run(BulkJobDTO job, List<Long> chunk);
+    }
+
+    // The common case: the whole chunk in one transaction
+    private ChunkWork inOneTransaction(ToIntFunction<List<Long>> chunkAction) {
+        return (job, chunk) -> job.addProgress(chunk.size(), inTransaction(chunkAction, chunk));
+    }
+
+    /*
+        Explicit ids: one chunk runs inline (if allowed), more run as a background job
+    */
+    private BulkJobDTO runByIds(String operation, List<Long> requestedIds, boolean mayRunInline, ChunkWork chunkWork) {
+        List<Long> ids = requestedIds.stream().distinct().toList();
+
+        Consumer<BulkJobDTO> work = job -> {
+            job.setTotal(ids.size());
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                chunkWork.run(job, ids.subList(from, Math.min(from + chunkSize, ids.size())));
+            }
+        };
+
+        return mayRunInline && ids.size() <= chunkSize
+                ? bulkJobService.runInline(operation, work)
+                : bulkJobService.submit(operation, work);
+    }
+
+    /*
+        Filter: always a background job, walking matching ids in id order
+    */
+    private BulkJobDTO runByFilter(String operation, long total,
+                                   LongFunction<List<Long>> nextIds, ChunkWork chunkWork) {
+        return bulkJobService.submit(operation, job -> {
+            job.setTotal(total);
+            walk(job, nextIds, chunkWork);
+        });
+    }
+
+    // Keyset walk: next chunk = ids after the last one handled
+    private void walk(BulkJobDTO job, LongFunction<List<Long>> nextIds, ChunkWork chunkWork) {
+        long afterId = 0;
+        while (true) {
+            List<Long> chunk = new ArrayList<>(nextIds.apply(afterId));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            chunkWork.run(job, chunk);
+            afterId = chunk.get(chunk.size() - 1);
+        }
+    }
+
+    private int inTransaction(ToIntFunction<List<Long>> chunkAction, List<Long> chunk) {
+        Integer affected = transactionTemplate.execute(status -> chunkAction.applyAsInt(chunk));
+        return affected == null ? 0 : affected;
+    }
+
+    private Pageable firstChunk() {
+        return PageRequest.of(0, chunkSize);
+    }
+}
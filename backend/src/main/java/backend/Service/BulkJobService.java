@@ -0,0 +1,89 @@
+package backend.Service;
+
+import backend.DTO.BulkJobDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/*
+    📦 BULK JOBS
+    - Runs bulk admin operations and keeps their progress for polling
+    - Small jobs run inline (the caller gets the finished job back)
+    - Large jobs run on a background thread (the caller gets a job id)
+    - Finished jobs are forgotten after an hour
+*/
+@Service
+public class BulkJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkJobService.class);
+
+    private final Map<String, BulkJobDTO> jobs = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2, new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "bulk-job-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    // Run now, on the calling thread
+    public BulkJobDTO runInline(String operation, Consumer<BulkJobDTO> work) {
+        BulkJobDTO job = register(operation);
+        execute(job, work);
+        return job;
+    }
+
+    // Run in the background; poll getJob(id) for progress
+    public BulkJobDTO submit(String operation, Consumer<BulkJobDTO> work) {
+        BulkJobDTO job = register(operation);
+        executor.execute(() -> execute(job, work));
+        return job;
+    }
+
+    public Optional<BulkJobDTO> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    private BulkJobDTO register(String operation) {
+        // Drop old finished jobs so the map can't grow forever
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(1);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+
+        BulkJobDTO job = new BulkJobDTO(UUID.randomUUID().toString(), operation);
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    private void execute(BulkJobDTO job, Consumer<BulkJobDTO> work) {
+        try {
+            work.accept(job);
+            job.finish();
+            log.info("Bulk job {} ({}) done: {} rows processed, {} affected",
+                    job.getId(), job.getOperation(), job.getProcessed(), job.getAffected());
+        } catch (RuntimeException e) {
+            log.error("Bulk job {} ({}) failed after {} rows", job.getId(), job.getOperation(), job.getProcessed(), e);
+            job.fail(e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
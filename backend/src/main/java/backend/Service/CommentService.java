@@ -1,11 +1,30 @@
 package backend.Service;
 
+import backend.DTO.CommentNodeDTO;
+import backend.DTO.CommentThreadPageDTO;
+import backend.DTO.UserSummaryDTO;
+import backend.Journal.ChangeJournal;
+import backend.Journal.ChangeType;
+import backend.Model.ActivityRollup;
 import backend.Model.Comment;
 import backend.Repository.CommentRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class CommentService {
@@ -13,6 +32,36 @@ public class CommentService {
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private ChangeJournal changeJournal;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ActivityRollupService activityRollupService;
+
+    @Autowired
+    private ActivityFeedService activityFeedService;
+
+    // Deepest allowed reply level (0 = top-level comment)
+    @Value("${blog.comments.max-depth:8}")
+    private int maxDepth;
+
+    // A deeper setting would let paths outgrow the column (and get truncated)
+    @PostConstruct
+    void validateMaxDepth() {
+        if (maxDepth < 0 || maxDepth > Comment.MAX_PATH_DEPTH) {
+            throw new IllegalStateException("blog.comments.max-depth must be between 0 and "
+                    + Comment.MAX_PATH_DEPTH + " (path column holds " + Comment.PATH_MAX_LENGTH
+                    + " chars), got " + maxDepth);
+        }
+    }
+
+    // Max replies shown under one comment in a thread response
+    @Value("${blog.comments.max-replies-per-comment:50}")
+    private int maxRepliesPerComment;
+
     // 1. Get all comments (Global list)
     public List<Comment> getAllComments() {
         return commentRepository.findAll();
@@ -23,13 +72,177 @@ public class CommentService {
         return commentRepository.findByUserId(userId);
     }
 
-    // 3. Add a new comment
+    // 2b. Get comments of a post (optionally with author names)
+    public List<Comment> getCommentsByPost(Long postId, boolean includeAuthors) {
+        List<Comment> comments = commentRepository.findByPostId(postId);
+        if (includeAuthors) {
+            attachAuthorNames(comments);
+        }
+        return comments;
+    }
+
+    // 3. Add a new comment (or a reply, when parentId is set)
+    //    Throws IllegalArgumentException for an unknown parent or a too-deep reply
+    @Transactional
     public Comment addComment(Comment comment) {
-        return commentRepository.save(comment);
+
+        String parentPath = "";
+        int depth = 0;
+
+        if (comment.getParentId() != null) {
+            Comment parent = commentRepository.findById(comment.getParentId())
+                    .filter(p -> Objects.equals(p.getPostId(), comment.getPostId()) && p.getPath() != null)
+                    .orElseThrow(() -> new IllegalArgumentException("Parent comment not found on this post"));
+
+            if (parent.getDepth() + 1 > maxDepth) {
+                throw new IllegalArgumentException("Replies can only be nested " + maxDepth + " levels deep");
+            }
+            parentPath = parent.getPath();
+            depth = parent.getDepth() + 1;
+        }
+
+        comment.setDepth(depth);
+        comment.setPath(null);
+        Comment saved = commentRepository.save(comment);
+
+        // The id only exists after the insert; the path is written at commit
+        saved.setPath(parentPath + Comment.pathSegment(saved.getId()));
+        activityFeedService.commentCreated(saved);
+
+        changeJournal.record(ChangeJournal.COMMENT, ChangeType.CREATE, saved.getId());
+
+        // Rollups are keyed by username (cached summary lookup)
+        String author = userService.getUserSummaries(List.of(saved.getUserId())).stream()
+                .map(UserSummaryDTO::getUsername)
+                .findFirst()
+                .orElse(null);
+        activityRollupService.record(ActivityRollup.Metric.COMMENTS, author, saved.getCreatedAt());
+        return saved;
     }
 
-    // 4. Delete a comment
+    // 4. Delete a comment together with all its replies
+    @Transactional
     public void deleteComment(Long id) {
-        commentRepository.deleteById(id);
+        Optional<Comment> comment = commentRepository.findById(id);
+        if (comment.isEmpty()) {
+            return;
+        }
+
+        List<Comment> subtree = comment.get().getPath() == null
+                ? List.of(comment.get())
+                : findSubtree(comment.get());
+
+        commentRepository.deleteAllInBatch(subtree);
+        activityFeedService.commentsDeleted(subtree.stream().map(Comment::getId).toList());
+        subtree.forEach(c -> changeJournal.record(ChangeJournal.COMMENT, ChangeType.DELETE, c.getId()));
+    }
+
+    // ========================================
+    // Threads
+    // ========================================
+
+    // 5. Page of top-level threads of a post (after = path cursor from the previous page)
+    public CommentThreadPageDTO getThreadPage(Long postId, String after, int limit, boolean includeAuthors) {
+
+        List<Comment> roots = commentRepository.findTopLevelAfter(
+                postId, after == null ? "" : after, PageRequest.of(0, limit));
+
+        if (roots.isEmpty()) {
+            return new CommentThreadPageDTO(List.of(), null);
+        }
+
+        // Roots sort by path, so the page's threads are one contiguous path range
+        String from = roots.get(0).getPath();
+        String lastRoot = roots.get(roots.size() - 1).getPath();
+        List<Comment> rows = commentRepository.findByPathRange(postId, from, Comment.pathUpperBound(lastRoot));
+        if (includeAuthors) {
+            attachAuthorNames(rows);
+        }
+
+        String nextCursor = roots.size() < limit ? null : lastRoot;
+        return new CommentThreadPageDTO(buildTree(rows, 0), nextCursor);
+    }
+
+    // 6. Whole thread of a post
+    public List<CommentNodeDTO> getThread(Long postId, boolean includeAuthors) {
+        List<Comment> rows = commentRepository.findThreadByPostId(postId);
+        if (includeAuthors) {
+            attachAuthorNames(rows);
+        }
+        return buildTree(rows, 0);
+    }
+
+    // 7. One comment with all its replies
+    public Optional<CommentNodeDTO> getSubtree(Long commentId, boolean includeAuthors) {
+        return commentRepository.findById(commentId)
+                .filter(c -> c.getPath() != null)
+                .map(c -> {
+                    List<Comment> rows = findSubtree(c);
+                    if (includeAuthors) {
+                        attachAuthorNames(rows);
+                    }
+                    return buildTree(rows, c.getDepth()).get(0);
+                });
+    }
+
+    private List<Comment> findSubtree(Comment root) {
+        return commentRepository.findByPathRange(
+                root.getPostId(), root.getPath(), Comment.pathUpperBound(root.getPath()));
+    }
+
+    // Fill in authorName for all comments with ONE batch user lookup
+    private void attachAuthorNames(List<Comment> comments) {
+        if (comments.isEmpty()) {
+            return;
+        }
+
+        Set<Long> userIds = new HashSet<>();
+        comments.forEach(c -> userIds.add(c.getUserId()));
+
+        Map<Long, String> names = new HashMap<>();
+        for (UserSummaryDTO user : userService.getUserSummaries(userIds)) {
+            names.put(user.getId(), user.getUsername());
+        }
+        comments.forEach(c -> c.setAuthorName(names.get(c.getUserId())));
+    }
+
+    /*
+        Build the tree in one pass over path-ordered rows
+        - Path order guarantees a parent is seen before its replies
+        - Replies over the fan-out limit are counted, not included
+          (and their own replies are skipped with them)
+    */
+    private List<CommentNodeDTO> buildTree(List<Comment> rows, int rootDepth) {
+        List<CommentNodeDTO> roots = new ArrayList<>();
+        Map<Long, CommentNodeDTO> nodes = new HashMap<>();
+
+        for (Comment comment : rows) {
+            if (comment.getDepth() == rootDepth) {
+                CommentNodeDTO node = new CommentNodeDTO(comment);
+                roots.add(node);
+                nodes.put(comment.getId(), node);
+                continue;
+            }
+
+            CommentNodeDTO parent = nodes.get(comment.getParentId());
+            if (parent == null) {
+                continue; // parent was cut by the fan-out limit
+            }
+            if (parent.getReplies().size() >= maxRepliesPerComment) {
+                parent.hideReply();
+                continue;
+            }
+
+            CommentNodeDTO node = new CommentNodeDTO(comment);
+            parent.getReplies().add(node);
+            nodes.put(comment.getId(), node);
+        }
+        return roots;
+    }
+
+    // Comments written before threading existed get a top-level path once at startup
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillPaths() {
+        commentRepository.backfillTopLevelPaths();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,117 @@
+package backend.Service;
+
+import backend.Compression.TextCompressor;
+import backend.Repository.CommentRepository;
+import backend.Repository.PostRepository;
+import backend.Repository.StoredBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/*
+    🗜️ COMPRESSION MIGRATION
+    - New/edited bodies are compressed on write by the converter
+    - This background job compresses rows written before the feature was enabled
+    - Works in small id-ordered batches (one transaction per batch)
+*/
+@Service
+public class CompressionMigrationService {
+
+    private static final Logger log = LoggerFactory.getLogger(CompressionMigrationService.class);
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final TextCompressor compressor;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    // Resume points (ids already scanned)
+    private long lastPostId = 0;
+    private long lastCommentId = 0;
+    private boolean postsDone = false;
+    private boolean commentsDone = false;
+
+    public CompressionMigrationService(PostRepository postRepository,
+                                       CommentRepository commentRepository,
+                                       TextCompressor compressor,
+                                       TransactionTemplate transactionTemplate,
+                                       @Value("${blog.storage.compression.migration.batch-size:200}") int batchSize) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.compressor = compressor;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /*
+        Runs one batch per table on every tick until both tables are done
+    */
+    @Scheduled(fixedDelayString = "${blog.storage.compression.migration.delay-ms:10000}")
+    public synchronized void migrateNextBatch() {
+
+        if (!compressor.isEnabled() || (postsDone && commentsDone)) {
+            return;
+        }
+
+        String pattern = TextCompressor.MARKER + "%";
+        int minLength = compressor.getThresholdBytes();
+
+        if (!postsDone) {
+            List<StoredBody> rows = postRepository.findUncompressedBodies(
+                    lastPostId, minLength, pattern, batchSize);
+            lastPostId = migrate("tbl_posts", rows, lastPostId, postRepository::replaceStoredContent);
+            postsDone = rows.size() < batchSize;
+        }
+
+        if (!commentsDone) {
+            List<StoredBody> rows = commentRepository.findUncompressedBodies(
+                    lastCommentId, minLength, pattern, batchSize);
+            lastCommentId = migrate("tbl_comments", rows, lastCommentId, commentRepository::replaceStoredContent);
+            commentsDone = rows.size() < batchSize;
+        }
+
+        if (postsDone && commentsDone) {
+            log.info("Body compression migration finished: {}", describeStats());
+        }
+    }
+
+    private long migrate(String table, List<StoredBody> rows, long lastId, BodyWriter writer) {
+
+        if (rows.isEmpty()) {
+            return lastId;
+        }
+
+        Integer migrated = transactionTemplate.execute(status -> {
+            int count = 0;
+            for (StoredBody row : rows) {
+                String stored = compressor.encode(row.getContent());
+                // encode() keeps incompressible text as-is: nothing to write then
+                if (!stored.equals(row.getContent())) {
+                    count += writer.replace(row.getId(), row.getContent(), stored);
+                }
+            }
+            return count;
+        });
+
+        long newLastId = rows.get(rows.size() - 1).getId();
+        log.info("Compressed {} of {} rows in {} (ids up to {}); {}",
+                migrated, rows.size(), table, newLastId, describeStats());
+        return newLastId;
+    }
+
+    private String describeStats() {
+        var stats = compressor.getStats();
+        return String.format("ratio %.2f, avg compress %d µs, avg decompress %d µs",
+                stats.getCompressionRatio(), stats.getAvgCompressMicros(), stats.getAvgDecompressMicros());
+    }
+
+    @FunctionalInterface
+    private interface BodyWriter {
+        int replace(Long id, String expected, String stored);
+    }
+}
@@ -1,9 +1,16 @@
 package backend.Service;
 
+import backend.Journal.ChangeJournal;
+import backend.Journal.ChangeType;
+import backend.Model.ActivityRollup;
 import backend.Model.Post;
+import backend.Rendering.ContentRenderer;
+import backend.Rendering.RenderedContent;
+import backend.Repository.CommentRepository;
 import backend.Repository.PostRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,10 +19,26 @@ import java.util.Optional;
 public class PostService {
 
     private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final AttachmentService attachmentService;
+    private final ChangeJournal changeJournal;
+    private final ActivityRollupService activityRollupService;
+    private final ActivityFeedService activityFeedService;
+    private final ContentRenderer contentRenderer;
 
     @Autowired
-    public PostService(PostRepository postRepository) {
+    public PostService(PostRepository postRepository, CommentRepository commentRepository,
+                       AttachmentService attachmentService, ChangeJournal changeJournal,
+                       ActivityRollupService activityRollupService,
+                       ActivityFeedService activityFeedService,
+                       ContentRenderer contentRenderer) {
         this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.attachmentService = attachmentService;
+        this.changeJournal = changeJournal;
+        this.activityRollupService = activityRollupService;
+        this.activityFeedService = activityFeedService;
+        this.contentRenderer = contentRenderer;
     }
 
     // 1. Get all posts (Sorted by newest first)
@@ -31,27 +54,62 @@ public class PostService {
         return postRepository.findById(id);
     }
 
-    // 3. Create post
+    // 3. Create post (and its feed entry, in the same transaction)
+    //    The body is rendered to HTML here, once, not on every read
+    @Transactional
     public Post createPost(Post post) {
-        return postRepository.save(post);
+        RenderedContent rendered = contentRenderer.render(post.getContent());
+        post.setContentHtml(rendered.html());
+        post.setExcerpt(rendered.excerpt());
+        post.setReadingTimeMinutes(rendered.readingTimeMinutes());
+        post.setRendererVersion(rendered.rendererVersion());
+
+        Post saved = postRepository.save(post);
+        activityFeedService.postCreated(saved);
+        changeJournal.record(ChangeJournal.POST, ChangeType.CREATE, saved.getId());
+        activityRollupService.record(ActivityRollup.Metric.POSTS, saved.getAuthor(), saved.getCreatedAt());
+        return saved;
     }
 
-    // 4. Update post
-    public Optional<Post> updatePost(Long id, Post postDetails) {
-        return postRepository.findById(id).map(existingPost -> {
-            // Update logic moves here
-            existingPost.setTitle(postDetails.getTitle());
-            existingPost.setContent(postDetails.getContent());
-            return postRepository.save(existingPost);
-        });
+    // 4. Update post (partial: null title/content are left unchanged)
+    //    One conditional UPDATE; the version check only runs if postDetails carries a version
+    //    New content is rendered before the UPDATE and written in the same statement
+    public UpdateResult updatePost(Long id, Post postDetails) {
+        String content = postDetails.getContent();
+        RenderedContent rendered = content == null ? null : contentRenderer.render(content);
+
+        int updated = postRepository.updateFields(
+                id, postDetails.getVersion(), postDetails.getTitle(), content, rendered);
+
+        if (updated == 1) {
+            changeJournal.record(ChangeJournal.POST, ChangeType.UPDATE, id);
+            return UpdateResult.UPDATED;
+        }
+
+        // Only the failure path needs a second look to tell 404 from 409
+        if (postDetails.getVersion() != null && postRepository.existsById(id)) {
+            return UpdateResult.CONFLICT;
+        }
+        return UpdateResult.NOT_FOUND;
     }
 
-    // 5. Delete post
+    // 5. Delete post (one DELETE; the row count tells us whether it existed)
+    //    Its comments go with it in one more DELETE, so none are left orphaned
+    @Transactional
     public boolean deletePost(Long id) {
-        if (postRepository.existsById(id)) {
-            postRepository.deleteById(id);
-            return true;
+        if (postRepository.removeById(id) == 0) {
+            return false;
+        }
+
+        List<Long> commentIds = commentRepository.findIdsByPostIdIn(List.of(id));
+        if (!commentIds.isEmpty()) {
+            commentRepository.removeByPostIdIn(List.of(id));
         }
-        return false;
+        attachmentService.deleteAttachmentsOfPost(id);
+        activityFeedService.postsDeleted(List.of(id));
+
+        changeJournal.record(ChangeJournal.POST, ChangeType.DELETE, id);
+        commentIds.forEach(commentId -> changeJournal.record(ChangeJournal.COMMENT, ChangeType.DELETE, commentId));
+        return true;
     }
 }
\ No newline at end of file
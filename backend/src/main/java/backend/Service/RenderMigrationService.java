@@ -0,0 +1,137 @@
+package backend.Service;
+
+import backend.Compression.CompressedText;
+import backend.Model.Post;
+import backend.Rendering.ContentRenderer;
+import backend.Rendering.RenderedContent;
+import backend.Repository.PostRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+    🖋️ RENDER MIGRATION
+    - New/edited posts are rendered on write by PostService
+    - This background job re-renders posts whose rendererVersion is older
+      than ContentRenderer.VERSION (e.g. after a renderer change or for
+      posts written before rendering existed)
+    - Each batch is rendered in parallel on a fork/join pool (rendering and
+      decompressing are pure CPU work), then written in one transaction
+*/
+@Service
+public class RenderMigrationService {
+
+    private static final Logger log = LoggerFactory.getLogger(RenderMigrationService.class);
+
+    // Posts per fork/join leaf task
+    private static final int POSTS_PER_TASK = 16;
+
+    private final PostRepository postRepository;
+    private final ContentRenderer contentRenderer;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool pool;
+    private final int batchSize;
+
+    // Resume point (ids already rendered)
+    private long lastPostId = 0;
+    private boolean done = false;
+
+    public RenderMigrationService(PostRepository postRepository,
+                                  ContentRenderer contentRenderer,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${blog.rendering.migration.batch-size:500}") int batchSize,
+                                  @Value("${blog.rendering.migration.parallelism:0}") int parallelism) {
+        this.postRepository = postRepository;
+        this.contentRenderer = contentRenderer;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /*
+        Runs one batch on every tick until no outdated post is left
+    */
+    @Scheduled(fixedDelayString = "${blog.rendering.migration.delay-ms:5000}")
+    public synchronized void renderNextBatch() {
+
+        if (done) {
+            return;
+        }
+
+        List<Post> posts = postRepository.findNeedingRender(
+                ContentRenderer.VERSION, lastPostId, PageRequest.of(0, batchSize));
+
+        if (!posts.isEmpty()) {
+            long start = System.nanoTime();
+            RenderedContent[] results = new RenderedContent[posts.size()];
+            pool.invoke(new RenderTask(posts, results, 0, posts.size()));
+            long renderMillis = (System.nanoTime() - start) / 1_000_000;
+
+            Integer written = transactionTemplate.execute(status -> {
+                int count = 0;
+                for (int i = 0; i < posts.size(); i++) {
+                    Post post = posts.get(i);
+                    RenderedContent rendered = results[i];
+                    count += postRepository.replaceRendered(post.getId(), post.getVersion(),
+                            CompressedText.of(rendered.html()), rendered.excerpt(),
+                            rendered.readingTimeMinutes(), rendered.rendererVersion());
+                }
+                return count;
+            });
+
+            lastPostId = posts.get(posts.size() - 1).getId();
+            log.info("Re-rendered {} of {} posts (ids up to {}) in {} ms on {} threads",
+                    written, posts.size(), lastPostId, renderMillis, pool.getParallelism());
+        }
+
+        if (posts.size() < batchSize) {
+            done = true;
+            log.info("All posts are rendered with renderer version {}", ContentRenderer.VERSION);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /*
+        Splits [from, to) in halves until a piece is small enough to render directly
+    */
+    private final class RenderTask extends RecursiveAction {
+
+        private final List<Post> posts;
+        private final RenderedContent[] results;
+        private final int from;
+        private final int to;
+
+        RenderTask(List<Post> posts, RenderedContent[] results, int from, int to) {
+            this.posts = posts;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= POSTS_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    results[i] = contentRenderer.render(posts.get(i).getContent());
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RenderTask(posts, results, from, middle),
+                    new RenderTask(posts, results, middle, to));
+        }
+    }
+}
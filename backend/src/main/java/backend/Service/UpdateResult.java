@@ -0,0 +1,14 @@
+package backend.Service;
+
+/*
+    Outcome of a conditional (single statement) update
+
+    - UPDATED: row changed
+    - NOT_FOUND: no row with that id (→ 404)
+    - CONFLICT: row exists but its version moved on (→ 409)
+*/
+public enum UpdateResult {
+    UPDATED,
+    NOT_FOUND,
+    CONFLICT
+}
@@ -1,12 +1,31 @@
 package backend.Service;
 
+import backend.DTO.UserListItemDTO;
+import backend.DTO.UserPageDTO;
+import backend.DTO.UserSummaryDTO;
+import backend.Journal.ChangeJournal;
+import backend.Journal.ChangeType;
+import backend.Model.ActivityRollup;
 import backend.Model.User;
 import backend.Repository.UserRepository;
+import backend.Repository.UserRepositoryCustom.SortBy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /*
     🧠 SERVICE LAYER
@@ -17,19 +36,52 @@ import java.util.Optional;
 @Service
 public class UserService {
 
+    private static final int SUMMARY_STAMP_SLOTS = 256;
+
     private final UserRepository userRepository;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final ChangeJournal changeJournal;
+    private final ActivityRollupService activityRollupService;
+    private final UsernameBloomFilter usernameFilter;
+    private final ActivityFeedService activityFeedService;
+
+    // Small LRU cache: user id → public summary (least recently used entry is dropped first)
+    private final Map<Long, UserSummaryDTO> summaryCache;
+
+    // Bumped on every eviction; a loaded summary is only cached if its slot's
+    // stamp did not move during the load (same idea as ActivityFeedCache)
+    private final AtomicLongArray summaryStamps = new AtomicLongArray(SUMMARY_STAMP_SLOTS);
 
     /*
         Dependency Injection
         Spring gives us:
         - UserRepository (database access)
         - BCryptPasswordEncoder (password hashing)
+        - ChangeJournal (ordered feed of writes for other nodes)
+        - ActivityRollupService (dashboard activity counters)
+        - UsernameBloomFilter (fast "is this username free?" answers)
+        - ActivityFeedService (per-user timelines)
     */
     public UserService(UserRepository userRepository,
-                       BCryptPasswordEncoder passwordEncoder) {
+                       BCryptPasswordEncoder passwordEncoder,
+                       ChangeJournal changeJournal,
+                       ActivityRollupService activityRollupService,
+                       UsernameBloomFilter usernameFilter,
+                       ActivityFeedService activityFeedService,
+                       @Value("${blog.users.summary-cache-size:1000}") int summaryCacheSize) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.changeJournal = changeJournal;
+        this.activityRollupService = activityRollupService;
+        this.usernameFilter = usernameFilter;
+        this.activityFeedService = activityFeedService;
+        this.summaryCache = Collections.synchronizedMap(
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Long, UserSummaryDTO> eldest) {
+                        return size() > summaryCacheSize;
+                    }
+                });
     }
 
     // ==================================================
@@ -83,7 +135,11 @@ public class UserService {
             user.setRole("USER");
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        usernameFilter.add(saved.getUsername());
+        changeJournal.record(ChangeJournal.USER, ChangeType.CREATE, saved.getId());
+        activityRollupService.record(ActivityRollup.Metric.USERS, null, null);
+        return saved;
     }
 
     // ==================================================
@@ -94,58 +150,201 @@ public class UserService {
         return userRepository.findAll();
     }
 
+    /*
+        One page of the admin listing (no passwords)
+        - sort: "id" or "username", descending optional
+        - after: nextCursor of the previous page (null = first page)
+        - Throws IllegalArgumentException for an unknown sort or a bad cursor
+    */
+    public UserPageDTO getUserPage(String usernamePrefix, String email, String role,
+                                   String sort, boolean descending, String after, int limit) {
+
+        SortBy sortBy = SortBy.valueOf(sort.toUpperCase());
+        Long afterId = null;
+        String afterUsername = null;
+        if (after != null) {
+            if (sortBy == SortBy.ID) {
+                afterId = Long.parseLong(after); // NumberFormatException is an IllegalArgumentException
+            } else {
+                afterUsername = after;
+            }
+        }
+
+        List<UserListItemDTO> users = userRepository.findPage(
+                blankToNull(usernamePrefix), blankToNull(email), blankToNull(role),
+                sortBy, descending, afterId, afterUsername, limit);
+
+        String nextCursor = null;
+        if (users.size() == limit) {
+            UserListItemDTO last = users.get(users.size() - 1);
+            nextCursor = sortBy == SortBy.ID ? String.valueOf(last.getId()) : last.getUsername();
+        }
+        return new UserPageDTO(users, nextCursor);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /*
+        Username availability (registration form)
+        - Bloom filter says "never seen" → free, no query
+        - Otherwise one index lookup decides
+        - Advisory only: the unique index still rejects a duplicate on insert
+    */
+    public boolean isUsernameAvailable(String username) {
+        if (!usernameFilter.mightContain(username)) {
+            return true;
+        }
+        return !userRepository.existsByUsername(username);
+    }
+
+    // Load every existing username into the Bloom filter once at startup
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpUsernameFilter() {
+        long afterId = 0;
+        List<UserSummaryDTO> batch;
+        do {
+            batch = userRepository.findSummariesAfter(afterId, PageRequest.of(0, 1000));
+            for (UserSummaryDTO user : batch) {
+                usernameFilter.add(user.getUsername());
+                afterId = user.getId();
+            }
+        } while (!batch.isEmpty());
+
+        usernameFilter.markReady();
+    }
+
     public Optional<User> getUserById(Long id) {
         return userRepository.findById(id);
     }
 
+    /*
+        Public summaries (id, username, role) for many users at once
+        - Cached ids are answered from memory
+        - All misses are loaded with ONE "IN" query
+        - Unknown ids are simply left out
+        - A summary evicted while it was loading is returned but not cached
+    */
+    public List<UserSummaryDTO> getUserSummaries(Collection<Long> ids) {
+
+        List<UserSummaryDTO> result = new ArrayList<>(ids.size());
+        Map<Long, Long> misses = new LinkedHashMap<>(); // id → stamp before the load
+
+        for (Long id : ids) {
+            UserSummaryDTO cached = summaryCache.get(id);
+            if (cached != null) {
+                result.add(cached);
+            } else if (id != null) {
+                misses.put(id, summaryStamps.get(stampSlot(id)));
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            for (UserSummaryDTO summary : userRepository.findSummariesByIdIn(misses.keySet())) {
+                synchronized (summaryCache) {
+                    if (summaryStamps.get(stampSlot(summary.getId())) == misses.get(summary.getId())) {
+                        summaryCache.put(summary.getId(), summary);
+                    }
+                }
+                result.add(summary);
+            }
+        }
+
+        return result;
+    }
+
+    /*
+        Forget cached summaries (after bulk changes made outside this service)
+        Inside a transaction this happens again after the commit, so a lookup
+        that read the old row in between can't cache it
+    */
+    public void evictSummaries(Collection<Long> ids) {
+        List<Long> copy = List.copyOf(ids);
+        forgetSummaries(copy);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    forgetSummaries(copy);
+                }
+            });
+        }
+    }
+
+    private void forgetSummaries(Collection<Long> ids) {
+        synchronized (summaryCache) {
+            for (Long id : ids) {
+                summaryStamps.incrementAndGet(stampSlot(id));
+                summaryCache.remove(id);
+            }
+        }
+    }
+
+    private static int stampSlot(Long userId) {
+        return (int) Math.floorMod(userId, (long) SUMMARY_STAMP_SLOTS);
+    }
+
     // ==================================================
     // ✏️ UPDATE
     // ==================================================
 
     /*
         Update user information
+        - Partial: null username/email/role are left unchanged
         - Password only updated if provided
         - Old password preserved if empty
+        - ONE conditional UPDATE; if updatedUser carries a version,
+          a stale version gives CONFLICT instead of overwriting
     */
-    public Optional<User> updateUser(Long id, User updatedUser) {
-
-        Optional<User> userOpt = userRepository.findById(id);
-
-        if (userOpt.isPresent()) {
-            User existingUser = userOpt.get();
+    public UpdateResult updateUser(Long id, User updatedUser) {
 
-            existingUser.setUsername(updatedUser.getUsername());
-            existingUser.setEmail(updatedUser.getEmail());
-            existingUser.setRole(updatedUser.getRole());
+        // 🔐 Password logic
+        String hashedPassword = null;
+        if (updatedUser.getPassword() != null &&
+                !updatedUser.getPassword().isEmpty()) {
 
-            // 🔐 Password logic
-            if (updatedUser.getPassword() != null &&
-                    !updatedUser.getPassword().isEmpty()) {
-
-                String hashedPassword =
-                        passwordEncoder.encode(updatedUser.getPassword());
-
-                existingUser.setPassword(hashedPassword);
-            }
+            hashedPassword = passwordEncoder.encode(updatedUser.getPassword());
+        }
 
-            return Optional.of(userRepository.save(existingUser));
+        int updated = userRepository.updateFields(
+                id,
+                updatedUser.getVersion(),
+                updatedUser.getUsername(),
+                updatedUser.getEmail(),
+                updatedUser.getRole(),
+                hashedPassword
+        );
+
+        if (updated == 1) {
+            evictSummaries(List.of(id));
+            usernameFilter.add(updatedUser.getUsername());
+            changeJournal.record(ChangeJournal.USER, ChangeType.UPDATE, id);
+            return UpdateResult.UPDATED;
         }
 
-        return Optional.empty();
+        // Only the failure path needs a second look to tell 404 from 409
+        if (updatedUser.getVersion() != null && userRepository.existsById(id)) {
+            return UpdateResult.CONFLICT;
+        }
+        return UpdateResult.NOT_FOUND;
     }
 
     // ==================================================
     // 🗑️ DELETE
     // ==================================================
 
+    // One DELETE; the row count tells us whether the user existed
     public boolean deleteUser(Long id) {
 
-        if (userRepository.existsById(id)) {
-            userRepository.deleteById(id);
-            return true;
+        if (userRepository.removeById(id) == 0) {
+            return false;
         }
 
-        return false;
+        evictSummaries(List.of(id));
+        activityFeedService.usersDeleted(List.of(id));
+        changeJournal.record(ChangeJournal.USER, ChangeType.DELETE, id);
+        return true;
     }
 
     // ==================================================
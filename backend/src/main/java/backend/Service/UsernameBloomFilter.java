@@ -0,0 +1,105 @@
+package backend.Service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * UsernameBloomFilter
+ *
+ * In-memory set of taken usernames that can answer "definitely free" without a query
+ *
+ * - mightContain = false → nobody has that username (no DB hit needed)
+ * - mightContain = true  → maybe taken, ask the database
+ *
+ * Notes:
+ * - Usernames are lower-cased (MySQL's default collation compares case-insensitively)
+ * - Bits are never cleared: deleted or renamed users just cost a DB check
+ * - Until the warm-up is done every name counts as "maybe taken"
+ * - Sized for blog.users.bloom.expected-users at blog.users.bloom.false-positive-rate;
+ *   more users than that still works, with more false positives
+ */
+@Component
+public class UsernameBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    private final AtomicLong insertions = new AtomicLong();
+    private volatile boolean ready = false;
+
+    public UsernameBloomFilter(@Value("${blog.users.bloom.expected-users:100000}") long expectedUsers,
+                               @Value("${blog.users.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        // Standard sizing: m = -n ln p / (ln 2)^2, k = m / n ln 2
+        long m = (long) Math.ceil(-expectedUsers * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(64, (m + 63) / 64 * 64);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedUsers * Math.log(2)));
+        this.bits = new AtomicLongArray((int) (bitCount / 64));
+    }
+
+    public void add(String username) {
+        if (username == null) {
+            return;
+        }
+        long hash = hash(username);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+        }
+        insertions.incrementAndGet();
+    }
+
+    public boolean mightContain(String username) {
+        if (!ready) {
+            return true;
+        }
+        long hash = hash(username);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Called once all existing usernames were added
+    public void markReady() {
+        ready = true;
+    }
+
+    public long getInsertions() {
+        return insertions.get();
+    }
+
+    // FNV-1a over the UTF-8 bytes, then a murmur3 finalizer to spread the bits
+    private static long hash(String username) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : username.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,151 @@
+package backend.Storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * ContentStore
+ *
+ * Purpose: Local, content-addressed file storage for attachments
+ *
+ * Layout on disk (under blog.attachments.dir):
+ * - objects/ab/abcdef...   file named after its SHA-256 hash
+ * - tmp/                   uploads in progress
+ *
+ * How an upload works:
+ * 1. Bytes are streamed from the request into a temp file (64 KB at a time,
+ *    never the whole file in memory) while the hash is computed
+ * 2. The temp file is renamed to objects/<hash> (stage() + publish())
+ * 3. If that object already exists, the temp file is dropped (deduplication)
+ */
+@Component
+public class ContentStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path objectsDir;
+    private final Path tmpDir;
+
+    public ContentStore(@Value("${blog.attachments.dir:uploads}") String rootDir) throws IOException {
+        Path root = Paths.get(rootDir).toAbsolutePath().normalize();
+        this.objectsDir = Files.createDirectories(root.resolve("objects"));
+        this.tmpDir = Files.createDirectories(root.resolve("tmp"));
+    }
+
+    // Result of storing a stream
+    public record StoredObject(String hash, long size, boolean deduplicated) {
+    }
+
+    // Thrown when an upload goes over the configured limit
+    public static class TooLargeException extends IOException {
+        public TooLargeException(long maxBytes) {
+            super("Upload exceeds " + maxBytes + " bytes");
+        }
+    }
+
+    // Upload written to tmp/ and hashed, but not filed under its hash yet
+    public record StagedUpload(Path tmpFile, String hash, long size) {
+    }
+
+    /*
+        Step 1: stream the upload into a temp file while hashing it
+        - The hash is known before anything is filed, so callers can coordinate
+          on it (see AttachmentService); always discard() afterwards
+    */
+    public StagedUpload stage(InputStream in, long maxBytes) throws IOException {
+
+        MessageDigest digest = sha256();
+        Path tmp = Files.createTempFile(tmpDir, "upload-", ".part");
+        long size = 0;
+
+        try {
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                ByteBuffer wrapped = ByteBuffer.wrap(buffer);
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    size += n;
+                    if (size > maxBytes) {
+                        throw new TooLargeException(maxBytes);
+                    }
+                    digest.update(buffer, 0, n);
+
+                    wrapped.clear().limit(n);
+                    while (wrapped.hasRemaining()) {
+                        out.write(wrapped);
+                    }
+                }
+                out.force(false);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        return new StagedUpload(tmp, HexFormat.of().formatHex(digest.digest()), size);
+    }
+
+    /*
+        Step 2: file a staged upload under its hash (or drop it if that object exists)
+    */
+    public StoredObject publish(StagedUpload staged) throws IOException {
+        Path target = pathFor(staged.hash());
+
+        if (Files.exists(target)) {
+            Files.deleteIfExists(staged.tmpFile());
+            return new StoredObject(staged.hash(), staged.size(), true);
+        }
+
+        Files.createDirectories(target.getParent());
+        // Rename is atomic: readers never see a half-written object.
+        // Two identical uploads racing here write the same bytes, so either wins.
+        Files.move(staged.tmpFile(), target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return new StoredObject(staged.hash(), staged.size(), false);
+    }
+
+    // Remove the temp file of an upload that was not (or only partly) published
+    public void discard(StagedUpload staged) throws IOException {
+        Files.deleteIfExists(staged.tmpFile());
+    }
+
+    /*
+        Location of an object on disk (objects/ab/abcdef...)
+    */
+    public Path pathFor(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Invalid content hash: " + hash);
+        }
+        return objectsDir.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    public boolean exists(String hash) {
+        return Files.isRegularFile(pathFor(hash));
+    }
+
+    public void delete(String hash) throws IOException {
+        Files.deleteIfExists(pathFor(hash));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package backend.Compression;
+
+import backend.DTO.CompressionStatsDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextCompressorTest {
+
+    private static final int THRESHOLD = 64;
+
+    private final TextCompressor compressor = new TextCompressor(true, THRESHOLD, 6, 2);
+
+    @Test
+    void longTextRoundTripsThroughCompressedForm() {
+        String text = "Lorem ipsum dolor sit amet, ünïcödé ✓ 😀. ".repeat(50);
+
+        String stored = compressor.encode(text);
+
+        assertThat(TextCompressor.isCompressed(stored)).isTrue();
+        assertThat(stored.length()).isLessThan(text.length());
+        assertThat(compressor.decode(stored)).isEqualTo(text);
+    }
+
+    @Test
+    void textBelowThresholdIsStoredAsIs() {
+        String text = "short comment";
+
+        assertThat(compressor.encode(text)).isSameAs(text);
+        assertThat(compressor.decode(text)).isSameAs(text);
+    }
+
+    @Test
+    void disabledCompressorStoresRawButStillDecodes() {
+        TextCompressor disabled = new TextCompressor(false, THRESHOLD, 6, 2);
+        String text = "abc ".repeat(100);
+
+        assertThat(disabled.encode(text)).isEqualTo(text);
+        assertThat(disabled.decode(compressor.encode(text))).isEqualTo(text);
+    }
+
+    @Test
+    void textThatStartsWithTheMarkerIsAlwaysEscaped() {
+        // Short and below the threshold, but would be misread as compressed if stored raw
+        String tricky = TextCompressor.MARKER + "12:not really compressed";
+
+        String stored = compressor.encode(tricky);
+        assertThat(stored).isNotEqualTo(tricky);
+        assertThat(compressor.decode(stored)).isEqualTo(tricky);
+
+        // Also when compression is switched off
+        TextCompressor disabled = new TextCompressor(false, THRESHOLD, 6, 2);
+        assertThat(disabled.decode(disabled.encode(tricky))).isEqualTo(tricky);
+    }
+
+    @Test
+    void incompressibleTextIsStoredRawAndCountedAsSkipped() {
+        byte[] noise = new byte[600];
+        new Random(42).nextBytes(noise);
+        String random = java.util.Base64.getEncoder().encodeToString(noise);
+
+        assertThat(compressor.encode(random)).isEqualTo(random);
+
+        CompressionStatsDTO stats = compressor.getStats();
+        assertThat(stats.getSkippedCount()).isEqualTo(1);
+        assertThat(stats.getCompressedCount()).isZero();
+    }
+
+    @Test
+    void statsReportRatioAndCounts() {
+        String text = "aaaaaaaaaa".repeat(100);
+        compressor.decode(compressor.encode(text));
+
+        CompressionStatsDTO stats = compressor.getStats();
+        assertThat(stats.getCompressedCount()).isEqualTo(1);
+        assertThat(stats.getDecompressedCount()).isEqualTo(1);
+        assertThat(stats.getRawBytes()).isEqualTo(1000);
+        assertThat(stats.getCompressionRatio()).isGreaterThan(5.0);
+    }
+}
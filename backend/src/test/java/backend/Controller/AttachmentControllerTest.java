@@ -0,0 +1,165 @@
+package backend.Controller;
+
+import backend.Model.Post;
+import backend.Repository.PostRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AttachmentControllerTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 13, 'I', 'H', 'D', 'R'};
+    private static final byte[] SVG = "<svg xmlns=\"http://www.w3.org/2000/svg\"><script>alert(1)</script></svg>"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    private Long postId;
+
+    @BeforeEach
+    void createPost() {
+        postId = postRepository.save(new Post("Attachments", "body", "attachment-test")).getId();
+    }
+
+    // ========================================
+    // Range / ETag parsing
+    // ========================================
+
+    @Test
+    void parsesSingleByteRanges() {
+        assertThat(AttachmentController.parseRange("bytes=0-9", 100)).containsExactly(0, 10);
+        assertThat(AttachmentController.parseRange("bytes=90-", 100)).containsExactly(90, 100);
+        assertThat(AttachmentController.parseRange("bytes=50-500", 100)).containsExactly(50, 100);
+    }
+
+    @Test
+    void suffixRangeMeansTheLastNBytes() {
+        assertThat(AttachmentController.parseRange("bytes=-10", 100)).containsExactly(90, 100);
+        assertThat(AttachmentController.parseRange("bytes=-500", 100)).containsExactly(0, 100);
+        assertThat(AttachmentController.parseRange("bytes=-0", 100)).isEmpty();
+    }
+
+    @Test
+    void unsatisfiableRangesAreEmptyAndUnsupportedOnesAreIgnored() {
+        assertThat(AttachmentController.parseRange("bytes=100-", 100)).isEmpty();
+        assertThat(AttachmentController.parseRange("bytes=200-300", 100)).isEmpty();
+
+        assertThat(AttachmentController.parseRange("bytes=0-1,5-6", 100)).isNull();
+        assertThat(AttachmentController.parseRange("items=0-1", 100)).isNull();
+        assertThat(AttachmentController.parseRange("bytes=abc", 100)).isNull();
+        assertThat(AttachmentController.parseRange("bytes=9-3", 100)).isNull();
+    }
+
+    @Test
+    void etagMatchingHandlesListsWeakTagsAndWildcard() {
+        String etag = "\"abc\"";
+        assertThat(AttachmentController.etagMatches("\"x\", \"abc\"", etag)).isTrue();
+        assertThat(AttachmentController.etagMatches("W/\"abc\"", etag)).isTrue();
+        assertThat(AttachmentController.etagMatches("*", etag)).isTrue();
+        assertThat(AttachmentController.etagMatches("\"abcd\"", etag)).isFalse();
+        assertThat(AttachmentController.etagMatches(null, etag)).isFalse();
+    }
+
+    @Test
+    void onlyMatchingRasterImagesAreInline() {
+        assertThat(AttachmentController.inlineImageType("image/png", PNG)).isEqualTo("image/png");
+        assertThat(AttachmentController.inlineImageType("IMAGE/PNG; charset=x", PNG)).isEqualTo("image/png");
+
+        assertThat(AttachmentController.inlineImageType("image/svg+xml", SVG)).isNull();
+        assertThat(AttachmentController.inlineImageType("image/png", SVG)).isNull();   // lies about its type
+        assertThat(AttachmentController.inlineImageType("image/jpeg", PNG)).isNull();  // wrong format
+        assertThat(AttachmentController.inlineImageType("text/html", PNG)).isNull();
+        assertThat(AttachmentController.inlineImageType(null, PNG)).isNull();
+    }
+
+    // ========================================
+    // Download endpoint
+    // ========================================
+
+    @Test
+    void pngIsServedInlineWithSafetyHeaders() throws Exception {
+        String url = upload("logo.png", "image/png", PNG);
+
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/png"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, startsWith("inline")))
+                .andExpect(header().string("X-Content-Type-Options", "nosniff"))
+                .andExpect(header().string("Content-Security-Policy", "sandbox"))
+                .andExpect(content().bytes(PNG));
+    }
+
+    @Test
+    void svgIsAlwaysADownload() throws Exception {
+        String url = upload("x.svg", "image/svg+xml", SVG);
+
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, startsWith("attachment")))
+                .andExpect(header().string("Content-Security-Policy", "sandbox"));
+    }
+
+    @Test
+    void ifNoneMatchGivesNotModified() throws Exception {
+        String url = upload("a.txt", "text/plain", "hello etag".getBytes(StandardCharsets.UTF_8));
+        String etag = mockMvc.perform(get(url)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "\"something-else\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void rangeRequestsGivePartialContentOr416() throws Exception {
+        String url = upload("digits.txt", "text/plain", "0123456789".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 7-9/10"))
+                .andExpect(content().string("789"));
+
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=2-4"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("234"));
+
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=10-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+
+    private String upload(String filename, String contentType, byte[] bytes) throws Exception {
+        String base = "/api/posts/" + postId + "/attachments";
+        String json = mockMvc.perform(post(base).param("filename", filename)
+                        .contentType(contentType).content(bytes))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Number id = JsonPath.read(json, "$.id");
+        return base + "/" + id.longValue();
+    }
+}
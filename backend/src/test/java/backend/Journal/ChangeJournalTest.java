@@ -0,0 +1,179 @@
+package backend.Journal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeJournalTest {
+
+    // [int length][int crc] + [long offset][long timestamp][byte type][long id][short nameLength] + "POST"
+    private static final int RECORD_BYTES = 8 + 27 + 4;
+
+    @TempDir
+    Path dir;
+
+    private final List<ChangeJournal> opened = new ArrayList<>();
+
+    @AfterEach
+    void stopAll() throws Exception {
+        for (ChangeJournal journal : opened) {
+            journal.stop();
+        }
+    }
+
+    @Test
+    void entriesGetConsecutiveOffsetsAndCanBeReadBack() throws Exception {
+        ChangeJournal journal = open(1 << 16, 16);
+
+        for (long id = 1; id <= 5; id++) {
+            assertThat(journal.record(ChangeJournal.POST, ChangeType.CREATE, id).join()).isEqualTo(id - 1);
+        }
+
+        List<ChangeEvent> events = journal.read(2, 10);
+        assertThat(events).extracting(ChangeEvent::offset).containsExactly(2L, 3L, 4L);
+        assertThat(events).extracting(ChangeEvent::entityId).containsExactly(3L, 4L, 5L);
+    }
+
+    @Test
+    void reopenedJournalRecoversItsSegmentsAndContinues() throws Exception {
+        ChangeJournal first = open(RECORD_BYTES * 4, 16);
+        for (long id = 1; id <= 10; id++) {
+            first.record(ChangeJournal.POST, ChangeType.UPDATE, id);
+        }
+        first.stop();
+        opened.remove(first);
+
+        ChangeJournal reopened = open(RECORD_BYTES * 4, 16);
+        assertThat(reopened.getNextOffset()).isEqualTo(10);
+        assertThat(reopened.read(0, 100)).hasSize(10);
+
+        assertThat(reopened.record(ChangeJournal.POST, ChangeType.DELETE, 11L).join()).isEqualTo(10);
+    }
+
+    @Test
+    void recoveryStopsAtTheFirstRecordWithABadChecksum() throws Exception {
+        ChangeJournal first = open(1 << 16, 16);
+        for (long id = 1; id <= 5; id++) {
+            first.record(ChangeJournal.POST, ChangeType.CREATE, id);
+        }
+        first.stop();
+        opened.remove(first);
+
+        // Flip one byte inside the third record's body
+        try (FileChannel channel = FileChannel.open(JournalSegment.fileFor(dir, 0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7F}), RECORD_BYTES * 2L + 8 + 20);
+        }
+
+        ChangeJournal reopened = open(1 << 16, 16);
+        assertThat(reopened.read(0, 100)).extracting(ChangeEvent::offset).containsExactly(0L, 1L);
+
+        // The torn tail is overwritten by new entries
+        assertThat(reopened.record(ChangeJournal.POST, ChangeType.CREATE, 99L).join()).isEqualTo(2);
+        assertThat(reopened.read(2, 10)).extracting(ChangeEvent::entityId).containsExactly(99L);
+    }
+
+    @Test
+    void readsSpanSegmentRolls() throws Exception {
+        ChangeJournal journal = open(RECORD_BYTES * 3, 100);
+        for (long id = 0; id < 20; id++) {
+            journal.record(ChangeJournal.POST, ChangeType.CREATE, id);
+        }
+
+        assertThat(journal.read(0, 100)).extracting(ChangeEvent::offset)
+                .containsExactlyElementsOf(range(0, 20));
+        assertThat(journal.read(7, 5)).extracting(ChangeEvent::offset)
+                .containsExactlyElementsOf(range(7, 12));
+    }
+
+    @Test
+    void retentionRunsWithoutARoll() throws Exception {
+        ChangeJournal journal = open(RECORD_BYTES * 2, 100);
+        for (long id = 0; id < 10; id++) {
+            journal.record(ChangeJournal.POST, ChangeType.CREATE, id);
+        }
+        journal.stop();
+        opened.remove(journal);
+
+        // Same files, stricter retention: nothing is written, so only the timer can apply it
+        ChangeJournal strict = open(RECORD_BYTES * 2, 2);
+        assertThat(strict.getEarliestOffset()).isZero();
+
+        strict.enforceRetention();
+
+        assertThat(strict.getEarliestOffset()).isGreaterThan(0);
+        assertThat(strict.read(0, 100)).extracting(ChangeEvent::offset).last().isEqualTo(9L);
+    }
+
+    @Test
+    void entriesOfATransactionAreOnlyWrittenWhenItCommits() throws Exception {
+        ChangeJournal journal = open(1 << 16, 16);
+
+        TransactionSynchronizationManager.initSynchronization();
+        CompletableFuture<Long> offset;
+        try {
+            offset = journal.record(ChangeJournal.COMMENT, ChangeType.CREATE, 1L);
+            journal.record(ChangeJournal.COMMENT, ChangeType.CREATE, 2L);
+            assertThat(journal.getNextOffset()).isZero();
+
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // afterCommit waited for the disk write
+        assertThat(offset).isCompletedWithValue(0L);
+        assertThat(journal.getNextOffset()).isEqualTo(2);
+    }
+
+    @Test
+    void entriesOfARolledBackTransactionAreDropped() throws Exception {
+        ChangeJournal journal = open(1 << 16, 16);
+
+        TransactionSynchronizationManager.initSynchronization();
+        CompletableFuture<Long> offset;
+        try {
+            offset = journal.record(ChangeJournal.USER, ChangeType.DELETE, 1L);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(offset).isCompletedExceptionally();
+        journal.record(ChangeJournal.USER, ChangeType.UPDATE, 2L);
+        assertThat(journal.read(0, 10)).extracting(ChangeEvent::entityId).containsExactly(2L);
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> syncs = TransactionSynchronizationManager.getSynchronizations();
+        syncs.forEach(TransactionSynchronization::afterCommit);
+        syncs.forEach(sync -> sync.afterCompletion(status));
+    }
+
+    private ChangeJournal open(int segmentBytes, int maxSegments) throws Exception {
+        ChangeJournal journal = new ChangeJournal(dir.toString(), segmentBytes, 64, maxSegments, 24 * 7, 5000);
+        journal.start();
+        opened.add(journal);
+        return journal;
+    }
+
+    private static List<Long> range(long from, long to) {
+        List<Long> out = new ArrayList<>();
+        for (long i = from; i < to; i++) {
+            out.add(i);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,52 @@
+package backend.Model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommentPathTest {
+
+    @Test
+    void segmentsAreFixedWidthBase36() {
+        assertThat(Comment.pathSegment(1L)).isEqualTo("0000000000001/");
+        assertThat(Comment.pathSegment(36L)).isEqualTo("0000000000010/");
+        assertThat(Comment.pathSegment(Long.MAX_VALUE)).hasSize(Comment.PATH_SEGMENT_LENGTH + 1);
+    }
+
+    @Test
+    void sortingByPathIsADepthFirstWalk() {
+        String root1 = Comment.pathSegment(5L);
+        String reply = root1 + Comment.pathSegment(40L);
+        String replyOfReply = reply + Comment.pathSegment(41L);
+        String secondReply = root1 + Comment.pathSegment(300L);
+        String root2 = Comment.pathSegment(6L);
+
+        List<String> paths = new ArrayList<>(List.of(root2, secondReply, replyOfReply, root1, reply));
+        paths.sort(String::compareTo);
+
+        assertThat(paths).containsExactly(root1, reply, replyOfReply, secondReply, root2);
+    }
+
+    @Test
+    void upperBoundCoversExactlyTheSubtree() {
+        String root = Comment.pathSegment(5L);
+        String upper = Comment.pathUpperBound(root);
+
+        String deepReply = root + Comment.pathSegment(Long.MAX_VALUE) + Comment.pathSegment(Long.MAX_VALUE);
+        String nextRoot = Comment.pathSegment(6L);
+
+        assertThat(root.compareTo(upper)).isNegative();
+        assertThat(deepReply.compareTo(upper)).isNegative();
+        assertThat(nextRoot.compareTo(upper)).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    void deepestAllowedPathFitsTheColumn() {
+        int segments = Comment.MAX_PATH_DEPTH + 1;
+        assertThat(segments * (Comment.PATH_SEGMENT_LENGTH + 1)).isLessThanOrEqualTo(Comment.PATH_MAX_LENGTH);
+        assertThat((segments + 1) * (Comment.PATH_SEGMENT_LENGTH + 1)).isGreaterThan(Comment.PATH_MAX_LENGTH);
+    }
+}
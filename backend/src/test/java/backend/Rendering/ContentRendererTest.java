@@ -0,0 +1,212 @@
+package backend.Rendering;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentRendererTest {
+
+    private final ContentRenderer renderer = new ContentRenderer();
+
+    private String html(String content) {
+        return renderer.render(content).html();
+    }
+
+    // ---- Markup in user text ----
+
+    @Test
+    void scriptTagsAndEventHandlersInTextAreEscaped() {
+        String html = html("<script>alert(1)</script> <img src=x onerror=\"alert(1)\">");
+
+        assertThat(html).doesNotContain("<script", "<img");
+        assertThat(html).contains("&lt;script&gt;alert(1)&lt;/script&gt;",
+                "&lt;img src=x onerror=&quot;alert(1)&quot;&gt;");
+    }
+
+    @Test
+    void markupInLinkLabelsIsEscaped() {
+        String html = html("[<b onmouseover=alert(1)>hi</b>](https://example.com)");
+
+        assertThat(html).contains("<a href=\"https://example.com\"");
+        assertThat(html).contains(">&lt;b onmouseover=alert(1)&gt;hi&lt;/b&gt;</a>");
+        assertThat(html).doesNotContain("<b ");
+    }
+
+    @Test
+    void codeSpansAreEscapedAndNotFormatted() {
+        String html = html("run `<script>**x**</script>` now");
+
+        assertThat(html).isEqualTo("<p>run <code>&lt;script&gt;**x**&lt;/script&gt;</code> now</p>");
+    }
+
+    // ---- Link targets ----
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "javascript:alert(1)",
+            "JaVaScRiPt:alert(1)",
+            "&#106;avascript:alert(1)",
+            "&#x6A;avascript:alert(1)",
+            "data:text/html;base64,PHNjcmlwdD4=",
+            "vbscript:msgbox(1)",
+            "//evil.com",
+            "/\\evil.com",
+            "/\\/evil.com",
+            "http:\\\\evil.com"
+    })
+    void unsafeLinkTargetsStayPlainText(String url) {
+        String html = html("[click](" + url + ")");
+
+        assertThat(html).doesNotContain("<a ");
+        assertThat(html).startsWith("<p>[click](");
+    }
+
+    @Test
+    void whitespacePrefixedSchemeIsNotALink() {
+        assertThat(html("[click]( javascript:alert(1))")).doesNotContain("<a ");
+        assertThat(html("[click](\tjavascript:alert(1))")).doesNotContain("<a ");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"https://example.com/a?b=c", "HTTP://example.com", "mailto:me@example.com", "/posts/1"})
+    void safeLinkTargetsBecomeLinks(String url) {
+        assertThat(html("[go](" + url + ")"))
+                .isEqualTo("<p><a href=\"" + url + "\" rel=\"nofollow noopener noreferrer\" target=\"_blank\">go</a></p>");
+    }
+
+    @Test
+    void quoteInUrlCannotBreakOutOfTheAttribute() {
+        String html = html("[x](https://example.com/\"onmouseover=\"alert.x)");
+
+        assertThat(html).contains("href=\"https://example.com/&quot;onmouseover=&quot;alert.x\"");
+        assertThat(html).doesNotContain("\"onmouseover");
+    }
+
+    // ---- Emphasis around links ----
+
+    @Test
+    void emphasisAcrossALinkEdgeIsNotApplied() {
+        String html = html("[**a](http://x) b**");
+
+        assertThat(html).isEqualTo(
+                "<p><a href=\"http://x\" rel=\"nofollow noopener noreferrer\" target=\"_blank\">**a</a> b**</p>");
+    }
+
+    @Test
+    void emphasisInsideAndAroundLinksNests() {
+        String html = html("**bold** [*it* label](/p) and *after*");
+
+        assertThat(html).isEqualTo("<p><strong>bold</strong> "
+                + "<a href=\"/p\" rel=\"nofollow noopener noreferrer\" target=\"_blank\"><em>it</em> label</a>"
+                + " and <em>after</em></p>");
+    }
+
+    @Test
+    void emphasisAroundAnUnsafeLinkStillApplies() {
+        assertThat(html("**[x](javascript:y)**")).isEqualTo("<p><strong>[x](javascript:y)</strong></p>");
+    }
+
+    // ---- Overlapping emphasis ----
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "**a *b** c*     | **a <em>b** c</em>",
+            "*a **b* c**     | *a <strong>b* c</strong>",
+            "**bold *it***   | <strong>bold <em>it</em></strong>",
+            "***both***      | <strong><em>both</em></strong>",
+            "**a** *b*       | <strong>a</strong> <em>b</em>",
+            "**a *b* c**     | <strong>a <em>b</em> c</strong>",
+            "*unclosed       | *unclosed",
+            "2*3*4 and a * b | 2*3*4 and a * b",
+            "*a**            | *a**",
+            "****x****       | ****x****"
+    })
+    void emphasisAlwaysNests(String markdown, String expected) {
+        assertThat(html(markdown)).isEqualTo("<p>" + expected + "</p>");
+    }
+
+    // ---- Code spans ----
+
+    @Test
+    void backtickRunsDelimitCodeSpans() {
+        assertThat(html("use ```x``` here")).isEqualTo("<p>use <code>x</code> here</p>");
+        assertThat(html("``a`b``")).isEqualTo("<p><code>a`b</code></p>");
+        assertThat(html("`` `x` ``")).isEqualTo("<p><code>`x`</code></p>");
+        assertThat(html("a `` b ` c")).isEqualTo("<p>a `` b ` c</p>");
+    }
+
+    @Test
+    void lineWithInlineTripleBackticksIsNotAFence() {
+        assertThat(html("```x``` *y*")).isEqualTo("<p><code>x</code> <em>y</em></p>");
+        assertThat(html("```java\nint x;\n```")).isEqualTo("<pre><code>int x;\n</code></pre>");
+    }
+
+    @Test
+    void codeSpanContentIsNotEmphasized() {
+        assertThat(html("`*b*` and *c*")).isEqualTo("<p><code>*b*</code> and <em>c</em></p>");
+    }
+
+    // ---- Parentheses in link targets ----
+
+    @Test
+    void balancedParenthesesStayInTheLinkTarget() {
+        assertThat(html("see [Mercury](https://en.wikipedia.org/wiki/Mercury_(planet)) now")).isEqualTo(
+                "<p>see <a href=\"https://en.wikipedia.org/wiki/Mercury_(planet)\" rel=\"nofollow noopener noreferrer\""
+                        + " target=\"_blank\">Mercury</a> now</p>");
+    }
+
+    @Test
+    void unbalancedClosingParenthesisEndsTheLinkTarget() {
+        assertThat(html("([x](/a))")).isEqualTo(
+                "<p>(<a href=\"/a\" rel=\"nofollow noopener noreferrer\" target=\"_blank\">x</a>)</p>");
+    }
+
+    // ---- Excerpt ----
+
+    @Test
+    void shortTextIsTheWholeExcerpt() {
+        RenderedContent rendered = renderer.render("# Title\n\nSome *short* text");
+
+        assertThat(rendered.excerpt()).isEqualTo("Title Some short text");
+        assertThat(rendered.readingTimeMinutes()).isEqualTo(1);
+        assertThat(rendered.rendererVersion()).isEqualTo(ContentRenderer.VERSION);
+    }
+
+    @Test
+    void excerptIsCutAtAWordBoundary() {
+        String text = "word ".repeat(100).trim();
+
+        String excerpt = renderer.render(text).excerpt();
+
+        assertThat(excerpt).endsWith("word…");
+        assertThat(excerpt.length()).isLessThanOrEqualTo(ContentRenderer.EXCERPT_LENGTH + 1);
+    }
+
+    @Test
+    void excerptWithoutSpacesIsCutHard() {
+        String excerpt = renderer.render("x".repeat(500)).excerpt();
+
+        assertThat(excerpt).isEqualTo("x".repeat(ContentRenderer.EXCERPT_LENGTH) + "…");
+    }
+
+    @Test
+    void excerptNeverSplitsASurrogatePair() {
+        // 199 chars, then emojis: the hard cut at 200 lands inside the first one
+        String text = "x".repeat(ContentRenderer.EXCERPT_LENGTH - 1) + "😀".repeat(10);
+
+        String excerpt = renderer.render(text).excerpt();
+
+        assertThat(excerpt).isEqualTo("x".repeat(ContentRenderer.EXCERPT_LENGTH - 1) + "…");
+        assertThat(excerpt.chars().noneMatch(c -> Character.isSurrogate((char) c))).isTrue();
+    }
+
+    @Test
+    void excerptDecodesEntitiesAndDropsTags() {
+        String excerpt = renderer.render("**a < b** & [\"c\"](/x)").excerpt();
+
+        assertThat(excerpt).isEqualTo("a < b & \"c\"");
+    }
+}
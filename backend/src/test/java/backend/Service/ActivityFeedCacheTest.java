@@ -0,0 +1,110 @@
+package backend.Service;
+
+import backend.Model.ActivityFeedEntry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActivityFeedCacheTest {
+
+    private static final Long USER = 7L;
+    private static final int RING_SIZE = 3;
+
+    private final ActivityFeedCache cache = new ActivityFeedCache(RING_SIZE, 10);
+
+    @Test
+    void ringKeepsTheNewestEntriesAcrossWraparound() {
+        cache.install(USER, List.of(), cache.stamp(USER));
+        for (long id = 1; id <= 7; id++) {
+            cache.add(entry(id));
+        }
+
+        assertThat(ids(cache.read(USER, null, 3))).containsExactly(7L, 6L, 5L);
+        assertThat(ids(cache.read(USER, 7L, 2))).containsExactly(6L, 5L);
+        // Older entries were dropped, so the ring can't answer past them any more
+        assertThat(cache.read(USER, null, 4)).isNull();
+    }
+
+    @Test
+    void outOfOrderCommitsAreInsertedInPlace() {
+        cache.install(USER, List.of(), cache.stamp(USER));
+        cache.add(entry(10));
+        cache.add(entry(12));
+        cache.add(entry(11));
+
+        assertThat(ids(cache.read(USER, null, 3))).containsExactly(12L, 11L, 10L);
+
+        // Older than everything in a full ring: dropped right away
+        cache.add(entry(5));
+        assertThat(ids(cache.read(USER, null, 3))).containsExactly(12L, 11L, 10L);
+    }
+
+    @Test
+    void completeRingAnswersPagesPastItsOldestEntry() {
+        cache.install(USER, newestFirst(2, 1), cache.stamp(USER));
+        assertThat(ids(cache.read(USER, null, 10))).containsExactly(2L, 1L);
+
+        // A full ring may have older entries in the database
+        cache.install(8L, newestFirst(3, 2, 1), cache.stamp(8L));
+        assertThat(cache.read(8L, null, 10)).isNull();
+        assertThat(ids(cache.read(8L, null, 3))).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void entryAlreadyLoadedIsNotAddedTwice() {
+        // The commit is visible to the loading reader before the writer's afterCommit add() runs
+        long stamp = cache.stamp(USER);
+        cache.install(USER, newestFirst(5, 4), stamp);
+        cache.add(entry(5));
+
+        assertThat(ids(cache.read(USER, null, 10))).containsExactly(5L, 4L);
+    }
+
+    @Test
+    void ringLoadedBeforeAWriteIsNotInstalled() {
+        long stamp = cache.stamp(USER);
+        cache.add(entry(9)); // commits while the reader is still loading
+        cache.install(USER, newestFirst(8), stamp);
+
+        assertThat(cache.read(USER, null, 1)).isNull();
+
+        cache.install(USER, newestFirst(9, 8), cache.stamp(USER));
+        assertThat(ids(cache.read(USER, null, 2))).containsExactly(9L, 8L);
+    }
+
+    @Test
+    void evictionDropsTheRingAndInvalidatesLoadsInFlight() {
+        long stamp = cache.stamp(USER);
+        cache.install(USER, newestFirst(1), stamp);
+
+        cache.evict(List.of(USER));
+        assertThat(cache.read(USER, null, 1)).isNull();
+
+        cache.install(USER, newestFirst(1), stamp);
+        assertThat(cache.read(USER, null, 1)).isNull();
+    }
+
+    private static List<ActivityFeedEntry> newestFirst(long... ids) {
+        List<ActivityFeedEntry> entries = new ArrayList<>();
+        for (long id : ids) {
+            entries.add(entry(id));
+        }
+        return entries;
+    }
+
+    private static ActivityFeedEntry entry(long id) {
+        ActivityFeedEntry entry = new ActivityFeedEntry(USER, ActivityFeedEntry.Type.POST_CREATED, USER,
+                1L, null, "title", LocalDateTime.now());
+        entry.setId(id);
+        return entry;
+    }
+
+    private static List<Long> ids(List<ActivityFeedEntry> entries) {
+        assertThat(entries).isNotNull();
+        return entries.stream().map(ActivityFeedEntry::getId).toList();
+    }
+}
@@ -0,0 +1,161 @@
+package backend.Service;
+
+import backend.DTO.ActivityPointDTO;
+import backend.Model.ActivityRollup;
+import backend.Model.ActivityRollup.Granularity;
+import backend.Model.ActivityRollup.Metric;
+import backend.Repository.ActivityRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ActivityRollupServiceTest {
+
+    @Autowired
+    private ActivityRollupService rollupService;
+
+    @Autowired
+    private ActivityRollupRepository rollupRepository;
+
+    @Test
+    void addToBucketUpsertsIntoOneRow() {
+        String author = uniqueAuthor();
+        LocalDateTime hour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+        rollupRepository.addToBucket("HOUR", hour, "POSTS", author, 2);
+        rollupRepository.addToBucket("HOUR", hour, "POSTS", author, 3);
+
+        List<ActivityRollup> rows = rollupRepository.findBuckets(Granularity.HOUR, author, hour, hour.plusHours(1));
+        assertThat(rows).singleElement().extracting(ActivityRollup::getCount).isEqualTo(5L);
+    }
+
+    @Test
+    void bucketsAreReadPerGranularity() {
+        String author = uniqueAuthor();
+        LocalDateTime day = LocalDate.now().atStartOfDay();
+
+        rollupRepository.addToBucket("DAY", day, "COMMENTS", author, 7);
+        rollupRepository.addToBucket("HOUR", day.plusHours(1), "COMMENTS", author, 1);
+
+        assertThat(rollupRepository.findBuckets(Granularity.DAY, author, day, day.plusDays(1)))
+                .extracting(ActivityRollup::getCount).containsExactly(7L);
+        assertThat(rollupRepository.findBuckets(Granularity.HOUR, author, day, day.plusDays(1)))
+                .extracting(ActivityRollup::getCount).containsExactly(1L);
+
+        // The chart sums both: every event lives in exactly one row
+        List<ActivityPointDTO> points = rollupService.getActivity(day, day.plusDays(1), Granularity.DAY, author);
+        assertThat(points).singleElement().extracting(ActivityPointDTO::getNewComments).isEqualTo(8L);
+    }
+
+    @Test
+    void flushWritesPendingCountsOnce() {
+        String author = uniqueAuthor();
+        LocalDateTime pastHour = LocalDateTime.now().minusHours(5).truncatedTo(ChronoUnit.HOURS);
+
+        rollupService.record(Metric.POSTS, author, pastHour.plusMinutes(10));
+        rollupService.record(Metric.POSTS, author, pastHour.plusMinutes(20));
+        rollupService.flush();
+        rollupService.flush();
+
+        assertThat(hourCount(author, pastHour)).isEqualTo(2);
+    }
+
+    @Test
+    void incrementsRacingFlushesAreNeverLost() {
+        String author = uniqueAuthor();
+        LocalDateTime pastHour = LocalDateTime.now().minusHours(3).truncatedTo(ChronoUnit.HOURS);
+        int threads = 4;
+        int perThread = 2_000;
+
+        AtomicBoolean recording = new AtomicBoolean(true);
+        CompletableFuture<Void> flusher = CompletableFuture.runAsync(() -> {
+            while (recording.get()) {
+                rollupService.flush();
+            }
+        });
+
+        CompletableFuture.allOf(IntStream.range(0, threads)
+                .mapToObj(t -> CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        rollupService.record(Metric.COMMENTS, author, pastHour);
+                    }
+                }))
+                .toArray(CompletableFuture[]::new)).join();
+
+        recording.set(false);
+        flusher.join();
+        rollupService.flush();
+
+        assertThat(hourCount(author, pastHour)).isEqualTo(threads * perThread);
+    }
+
+    @Test
+    void compactionFoldsOldHoursIntoOneDay() {
+        String author = uniqueAuthor();
+        LocalDateTime oldDay = LocalDate.now().minusDays(10).atStartOfDay();
+
+        rollupRepository.addToBucket("HOUR", oldDay.plusHours(3), "POSTS", author, 1);
+        rollupRepository.addToBucket("HOUR", oldDay.plusHours(9), "POSTS", author, 4);
+        rollupRepository.addToBucket("DAY", oldDay, "POSTS", author, 10); // e.g. from the backfill
+
+        rollupService.compact();
+
+        assertThat(rollupRepository.findBuckets(Granularity.HOUR, author, oldDay, oldDay.plusDays(1))).isEmpty();
+        assertThat(rollupRepository.findBuckets(Granularity.DAY, author, oldDay, oldDay.plusDays(1)))
+                .singleElement().extracting(ActivityRollup::getCount).isEqualTo(15L);
+    }
+
+    @Test
+    void flushesRacingCompactionAreNeverLost() {
+        String author = uniqueAuthor();
+        LocalDateTime oldDay = LocalDate.now().minusDays(20).atStartOfDay();
+        int events = 3_000;
+
+        // Backdated events keep landing in old HOUR rows while they are compacted
+        AtomicBoolean recording = new AtomicBoolean(true);
+        CompletableFuture<Void> compactor = CompletableFuture.runAsync(() -> {
+            while (recording.get()) {
+                rollupService.compact();
+            }
+        });
+
+        for (int i = 0; i < events; i++) {
+            rollupService.record(Metric.POSTS, author, oldDay.plusHours(i % 24));
+            if (i % 50 == 0) {
+                rollupService.flush();
+            }
+        }
+        rollupService.flush();
+        recording.set(false);
+        compactor.join();
+        rollupService.compact();
+
+        assertThat(rollupRepository.findBuckets(Granularity.HOUR, author, oldDay, oldDay.plusDays(1))).isEmpty();
+        assertThat(rollupRepository.findBuckets(Granularity.DAY, author, oldDay, oldDay.plusDays(1)))
+                .singleElement().extracting(ActivityRollup::getCount).isEqualTo((long) events);
+    }
+
+    private long hourCount(String author, LocalDateTime hour) {
+        return rollupRepository.findBuckets(Granularity.HOUR, author, hour, hour.plusHours(1)).stream()
+                .mapToLong(ActivityRollup::getCount)
+                .sum();
+    }
+
+    private static String uniqueAuthor() {
+        return "rollup-" + UUID.randomUUID();
+    }
+}
@@ -0,0 +1,122 @@
+package backend.Service;
+
+import backend.Model.Attachment;
+import backend.Model.Post;
+import backend.Repository.AttachmentRepository;
+import backend.Repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AttachmentServiceTest {
+
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long postId;
+
+    @BeforeEach
+    void createPost() {
+        postId = postRepository.save(new Post("Attachments", "body", "attachment-test")).getId();
+    }
+
+    @Test
+    void identicalUploadsShareOneFileUntilTheLastRowIsDeleted() throws Exception {
+        byte[] bytes = uniqueBytes();
+        Attachment first = upload(bytes);
+        Attachment second = upload(bytes);
+
+        assertThat(second.getContentHash()).isEqualTo(first.getContentHash());
+        Path file = attachmentService.getFile(first);
+
+        attachmentService.deleteAttachment(postId, first.getId());
+        assertThat(file).exists();
+
+        attachmentService.deleteAttachment(postId, second.getId());
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void rolledBackDeleteKeepsTheFile() throws Exception {
+        Attachment attachment = upload(uniqueBytes());
+        Path file = attachmentService.getFile(attachment);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            attachmentService.deleteAttachmentsOfPost(postId);
+            status.setRollbackOnly();
+        });
+
+        assertThat(attachmentRepository.findById(attachment.getId())).isPresent();
+        assertThat(file).exists();
+
+        // Committed: the file goes too
+        transactionTemplate.executeWithoutResult(status -> attachmentService.deleteAttachmentsOfPost(postId));
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void uploadRacingADeleteOfTheSameContentNeverLosesTheFile() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            byte[] bytes = uniqueBytes();
+            Attachment existing = upload(bytes);
+            CyclicBarrier start = new CyclicBarrier(2);
+
+            CompletableFuture<Void> delete = CompletableFuture.runAsync(() -> {
+                await(start);
+                attachmentService.deleteAttachment(postId, existing.getId());
+            });
+            CompletableFuture<Attachment> reupload = CompletableFuture.supplyAsync(() -> {
+                await(start);
+                try {
+                    return upload(bytes);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            delete.join();
+            Attachment survivor = reupload.join();
+            assertThat(attachmentService.getFile(survivor)).exists();
+        }
+    }
+
+    private Attachment upload(byte[] bytes) throws Exception {
+        return attachmentService.upload(postId, "file.bin", "application/octet-stream",
+                new ByteArrayInputStream(bytes)).orElseThrow();
+    }
+
+    private static byte[] uniqueBytes() {
+        return ("attachment " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
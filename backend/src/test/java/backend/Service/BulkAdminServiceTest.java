@@ -0,0 +1,219 @@
+package backend.Service;
+
+import backend.DTO.BulkJobDTO;
+import backend.DTO.BulkRequestDTO;
+import backend.Journal.ChangeJournal;
+import backend.Model.Comment;
+import backend.Model.Post;
+import backend.Model.User;
+import backend.Repository.CommentRepository;
+import backend.Repository.PostRepository;
+import backend.Repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkAdminServiceTest {
+
+    private static final int CHUNK_SIZE = 2;
+    private static final Long USER_ID = 9_100L;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ActivityFeedService activityFeedService;
+
+    @Autowired
+    private ChangeJournal changeJournal;
+
+    @Autowired
+    private BulkJobService bulkJobService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CommentService commentService;
+
+    private Long postId;
+
+    @BeforeEach
+    void createPost() {
+        postId = postRepository.save(new Post("Bulk", "body", "bulk-test")).getId();
+    }
+
+    @Test
+    void deletingCommentsTakesTheirRepliesAlong() {
+        Comment root = comment(null);
+        Comment reply = comment(root);
+        Comment replyOfReply = comment(reply);
+        Comment other = comment(null);
+        Comment otherReply = comment(other);
+        Comment untouched = comment(null);
+
+        // root's reply is also listed: its subtree must not be counted twice
+        BulkJobDTO job = bulkAdmin(activityFeedService).deleteComments(ids(root.getId(), reply.getId()));
+
+        assertThat(job.getStatus()).isEqualTo(BulkJobDTO.Status.DONE);
+        assertThat(job.getAffected()).isEqualTo(3);
+        assertThat(remainingIds()).containsExactlyInAnyOrder(other.getId(), otherReply.getId(), untouched.getId());
+        assertThat(replyOfReply.getId()).isNotIn(remainingIds());
+    }
+
+    @Test
+    void largeRequestsRunInChunksAsABackgroundJob() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(comment(null).getId());
+        }
+
+        BulkJobDTO job = await(bulkAdmin(activityFeedService).deleteComments(ids(ids.toArray(Long[]::new))));
+
+        assertThat(job.getStatus()).isEqualTo(BulkJobDTO.Status.DONE);
+        assertThat(job.getTotal()).isEqualTo(5);
+        assertThat(job.getProcessed()).isEqualTo(5);
+        assertThat(job.getAffected()).isEqualTo(5);
+        assertThat(remainingIds()).isEmpty();
+    }
+
+    @Test
+    void aFailingChunkStopsTheJobAndKeepsEarlierChunks() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ids.add(comment(null).getId());
+        }
+
+        // Second chunk fails half-way: its DELETE must be rolled back
+        ActivityFeedService failing = mock(ActivityFeedService.class);
+        doNothing().doThrow(new IllegalStateException("boom")).when(failing).commentsDeleted(anyCollection());
+
+        BulkJobDTO job = await(bulkAdmin(failing).deleteComments(ids(ids.toArray(Long[]::new))));
+
+        assertThat(job.getStatus()).isEqualTo(BulkJobDTO.Status.FAILED);
+        assertThat(job.getError()).isEqualTo("boom");
+        assertThat(job.getProcessed()).isEqualTo(CHUNK_SIZE);
+        assertThat(remainingIds()).containsExactlyInAnyOrderElementsOf(ids.subList(CHUNK_SIZE, 4));
+        assertThat(bulkJobService.getJob(job.getId())).containsSame(job);
+    }
+
+    @Test
+    void purgingAUserDeletesTheirContentInChunksAndCountsIt() throws Exception {
+        User user = newUser();
+        List<Long> postIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            postIds.add(postRepository.save(new Post("Purge " + i, "body", user.getUsername())).getId());
+        }
+        commentService.addComment(new Comment(USER_ID, postIds.get(0), "on their post"));
+
+        Comment own = null;
+        for (int i = 0; i < 3; i++) {
+            own = commentService.addComment(new Comment(user.getId(), postId, "theirs"));
+        }
+        Comment replyByOther = comment(own);
+        Comment unrelated = comment(null);
+
+        BulkRequestDTO request = ids(user.getId());
+        request.setPurgeContent(true);
+        BulkJobDTO job = await(bulkAdmin(activityFeedService).deleteUsers(request));
+
+        assertThat(job.getStatus()).isEqualTo(BulkJobDTO.Status.DONE);
+        // 1 user + 3 posts + 3 comments, each handled once
+        assertThat(job.getTotal()).isEqualTo(7);
+        assertThat(job.getProcessed()).isEqualTo(7);
+        // ... plus the comment on their post and the reply to their comment
+        assertThat(job.getAffected()).isEqualTo(9);
+
+        assertThat(postRepository.findExistingIds(postIds)).isEmpty();
+        assertThat(remainingIds()).containsExactly(unrelated.getId());
+        assertThat(replyByOther.getId()).isNotIn(remainingIds());
+        assertThat(userRepository.existsById(user.getId())).isFalse();
+    }
+
+    @Test
+    void contentPurgeCommitsSeparatelyFromTheUserRows() throws Exception {
+        User user = newUser();
+        Long theirPost = postRepository.save(new Post("Purge", "body", user.getUsername())).getId();
+        Comment theirComment = commentService.addComment(new Comment(user.getId(), postId, "theirs"));
+
+        ActivityFeedService failing = mock(ActivityFeedService.class);
+        doThrow(new IllegalStateException("boom")).when(failing).commentsDeleted(anyCollection());
+
+        BulkRequestDTO request = ids(user.getId());
+        request.setPurgeContent(true);
+        BulkJobDTO job = await(bulkAdmin(failing).deleteUsers(request));
+
+        // The posts chunk committed on its own; the failed comment chunk and the user row did not run to the end
+        assertThat(job.getStatus()).isEqualTo(BulkJobDTO.Status.FAILED);
+        assertThat(postRepository.existsById(theirPost)).isFalse();
+        assertThat(remainingIds()).contains(theirComment.getId());
+        assertThat(userRepository.existsById(user.getId())).isTrue();
+    }
+
+    private User newUser() {
+        String name = "purge-" + UUID.randomUUID().toString().substring(0, 8);
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("x");
+        user.setRole("USER");
+        return userRepository.save(user);
+    }
+
+    private BulkAdminService bulkAdmin(ActivityFeedService feed) {
+        return new BulkAdminService(postRepository, commentRepository, userRepository, attachmentService,
+                userService, feed, changeJournal, bulkJobService, transactionTemplate, CHUNK_SIZE);
+    }
+
+    private static BulkJobDTO await(BulkJobDTO job) throws InterruptedException {
+        for (int i = 0; i < 200 && job.getStatus() == BulkJobDTO.Status.RUNNING; i++) {
+            Thread.sleep(25);
+        }
+        return job;
+    }
+
+    private Comment comment(Comment parent) {
+        Comment comment = new Comment(USER_ID, postId, "text");
+        if (parent != null) {
+            comment.setParentId(parent.getId());
+        }
+        return commentService.addComment(comment);
+    }
+
+    private List<Long> remainingIds() {
+        return commentRepository.findByPostId(postId).stream().map(Comment::getId).toList();
+    }
+
+    private static BulkRequestDTO ids(Long... ids) {
+        BulkRequestDTO request = new BulkRequestDTO();
+        request.setIds(List.of(ids));
+        return request;
+    }
+}
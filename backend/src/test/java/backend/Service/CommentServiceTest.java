@@ -0,0 +1,102 @@
+package backend.Service;
+
+import backend.Model.Comment;
+import backend.Model.Post;
+import backend.Repository.CommentRepository;
+import backend.Repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CommentServiceTest {
+
+    private static final Long USER_ID = 9_000L;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    private Long postId;
+
+    @BeforeEach
+    void createPost() {
+        postId = postRepository.save(new Post("Thread test", "body", "comment-test")).getId();
+    }
+
+    @Test
+    void repliesGetTheParentPathPlusTheirOwnSegment() {
+        Comment root = commentService.addComment(new Comment(USER_ID, postId, "root"));
+        Comment reply = commentService.addComment(reply(root, "reply"));
+
+        assertThat(root.getPath()).isEqualTo(Comment.pathSegment(root.getId()));
+        assertThat(reply.getPath()).isEqualTo(root.getPath() + Comment.pathSegment(reply.getId()));
+        assertThat(reply.getDepth()).isEqualTo(1);
+    }
+
+    @Test
+    void threadIsReturnedInDepthFirstOrder() {
+        Comment first = commentService.addComment(new Comment(USER_ID, postId, "first"));
+        Comment second = commentService.addComment(new Comment(USER_ID, postId, "second"));
+        Comment lateReply = commentService.addComment(reply(first, "late reply to first"));
+
+        List<Long> order = commentRepository.findThreadByPostId(postId).stream().map(Comment::getId).toList();
+
+        assertThat(order).containsExactly(first.getId(), lateReply.getId(), second.getId());
+    }
+
+    @Test
+    void deletingACommentRemovesItsWholeSubtreeOnly() {
+        Comment root = commentService.addComment(new Comment(USER_ID, postId, "root"));
+        Comment child = commentService.addComment(reply(root, "child"));
+        Comment grandchild = commentService.addComment(reply(child, "grandchild"));
+        Comment sibling = commentService.addComment(new Comment(USER_ID, postId, "sibling"));
+
+        commentService.deleteComment(child.getId());
+
+        assertThat(commentRepository.findByPostId(postId)).extracting(Comment::getId)
+                .containsExactlyInAnyOrder(root.getId(), sibling.getId())
+                .doesNotContain(grandchild.getId());
+    }
+
+    @Test
+    void maxDepthIsEnforcedAndValidatedAgainstThePathColumn() {
+        int maxDepth = (int) ReflectionTestUtils.getField(commentService, "maxDepth");
+
+        Comment parent = commentService.addComment(new Comment(USER_ID, postId, "level 0"));
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            parent = commentService.addComment(reply(parent, "level " + depth));
+        }
+        Comment deepest = parent;
+        assertThatThrownBy(() -> commentService.addComment(reply(deepest, "too deep")))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        try {
+            ReflectionTestUtils.setField(commentService, "maxDepth", Comment.MAX_PATH_DEPTH + 1);
+            assertThatThrownBy(() -> commentService.validateMaxDepth())
+                    .isInstanceOf(IllegalStateException.class);
+        } finally {
+            ReflectionTestUtils.setField(commentService, "maxDepth", maxDepth);
+        }
+    }
+
+    private Comment reply(Comment parent, String content) {
+        Comment reply = new Comment(USER_ID, postId, content);
+        reply.setParentId(parent.getId());
+        return reply;
+    }
+}
@@ -0,0 +1,61 @@
+package backend.Service;
+
+import backend.Compression.TextCompressor;
+import backend.Model.Post;
+import backend.Repository.CommentRepository;
+import backend.Repository.PostRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CompressionMigrationServiceTest {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrationCompressesOldRowsOnceAndKeepsThemReadable() {
+        // Written while compression is off (the default), so stored raw
+        String body = "An old post body written before compression was enabled. ".repeat(20);
+        Post post = postRepository.save(new Post("Old post", body, "migration-test"));
+        assertThat(storedContent(post.getId())).isEqualTo(body);
+
+        TextCompressor compressor = new TextCompressor(true, 64, 6, 2);
+
+        migration(compressor).migrateNextBatch();
+        String afterFirstRun = storedContent(post.getId());
+        assertThat(TextCompressor.isCompressed(afterFirstRun)).isTrue();
+        assertThat(compressor.decode(afterFirstRun)).isEqualTo(body);
+
+        // A fresh instance (e.g. after a restart) scans from the start again
+        migration(compressor).migrateNextBatch();
+        assertThat(storedContent(post.getId())).isEqualTo(afterFirstRun);
+
+        assertThat(postRepository.findById(post.getId()).orElseThrow().getContent()).isEqualTo(body);
+    }
+
+    private CompressionMigrationService migration(TextCompressor compressor) {
+        return new CompressionMigrationService(
+                postRepository, commentRepository, compressor, transactionTemplate, 1000);
+    }
+
+    private String storedContent(Long postId) {
+        return jdbcTemplate.queryForObject("SELECT content FROM tbl_posts WHERE id = ?", String.class, postId);
+    }
+}
@@ -0,0 +1,210 @@
+package backend.Service;
+
+import backend.Model.Post;
+import backend.Model.User;
+import backend.Repository.PostRepository;
+import backend.Repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+    Updates and deletes are single conditional statements; a miss only costs
+    a second look when a version was sent (to tell 404 from 409)
+*/
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalUpdateTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void resetStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    // ========================================
+    // Statement counts
+    // ========================================
+
+    @Test
+    void postUpdateIsOneStatement() {
+        Post post = newPost();
+        Post changes = new Post();
+        changes.setTitle("New title");
+        changes.setVersion(post.getVersion());
+
+        statistics.clear();
+        assertThat(postService.updatePost(post.getId(), changes)).isEqualTo(UpdateResult.UPDATED);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void staleVersionUpdatesNoRowsAndIsAConflict() {
+        Post post = newPost();
+        Post stale = new Post();
+        stale.setTitle("Lost update");
+        stale.setVersion(post.getVersion() + 5);
+
+        statistics.clear();
+        assertThat(postRepository.updateFields(post.getId(), stale.getVersion(), "Lost update", null, null)).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        assertThat(postService.updatePost(post.getId(), stale)).isEqualTo(UpdateResult.CONFLICT);
+        assertThat(postRepository.findById(post.getId()).orElseThrow().getTitle()).isEqualTo("Title");
+    }
+
+    @Test
+    void updateOfAMissingRowWithoutVersionIsOneStatement() {
+        Post changes = new Post();
+        changes.setTitle("Nobody home");
+
+        statistics.clear();
+        assertThat(postService.updatePost(Long.MAX_VALUE, changes)).isEqualTo(UpdateResult.NOT_FOUND);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void userUpdateAndDeleteAreOneStatementEach() {
+        User user = newUser();
+        User changes = new User();
+        changes.setRole("ADMIN");
+
+        statistics.clear();
+        assertThat(userRepository.updateFields(user.getId(), user.getVersion(), null, null, "ADMIN", null)).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        assertThat(userRepository.removeById(user.getId())).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        assertThat(userService.updateUser(user.getId(), changes)).isEqualTo(UpdateResult.NOT_FOUND);
+    }
+
+    @Test
+    void postDeleteIsOneStatement() {
+        Post post = newPost();
+
+        statistics.clear();
+        assertThat(postRepository.removeById(post.getId())).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        assertThat(postRepository.removeById(post.getId())).isZero();
+    }
+
+    // ========================================
+    // HTTP status codes
+    // ========================================
+
+    @Test
+    void postEndpointTellsMissingFromStale() throws Exception {
+        Post post = newPost();
+
+        mockMvc.perform(json(put("/api/posts/" + post.getId()), "{\"title\":\"x\",\"version\":" + (post.getVersion() + 1) + "}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(json(put("/api/posts/" + Long.MAX_VALUE), "{\"title\":\"x\",\"version\":0}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(json(put("/api/posts/" + post.getId()), "{\"title\":\"x\",\"version\":" + post.getVersion() + "}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void userEndpointTellsMissingFromStaleAndRejectsBlankFields() throws Exception {
+        User user = newUser();
+        String url = "/api/users/" + user.getId();
+
+        mockMvc.perform(json(put(url), "{\"role\":\"ADMIN\",\"version\":" + (user.getVersion() + 1) + "}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(json(put("/api/users/" + Long.MAX_VALUE), "{\"role\":\"ADMIN\",\"version\":0}"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(json(put(url), "{\"username\":\"   \"}")).andExpect(status().isBadRequest());
+        mockMvc.perform(json(put(url), "{\"email\":\"\"}")).andExpect(status().isBadRequest());
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getUsername()).isEqualTo(user.getUsername());
+
+        mockMvc.perform(json(put(url), "{\"role\":\"ADMIN\",\"version\":" + user.getVersion() + "}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void successfulUpdatesReturnTheEntityWithItsNewVersion() throws Exception {
+        Post post = newPost();
+        String postUrl = "/api/posts/" + post.getId();
+
+        mockMvc.perform(json(put(postUrl), "{\"title\":\"First\",\"version\":" + post.getVersion() + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(post.getId()))
+                .andExpect(jsonPath("$.title").value("First"))
+                .andExpect(jsonPath("$.content").value("Body"))
+                .andExpect(jsonPath("$.version").value(post.getVersion() + 1));
+
+        // The returned version is enough for the next edit, no re-GET needed
+        mockMvc.perform(json(patch(postUrl), "{\"title\":\"Second\",\"version\":" + (post.getVersion() + 1) + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Second"))
+                .andExpect(jsonPath("$.version").value(post.getVersion() + 2));
+
+        User user = newUser();
+        mockMvc.perform(json(put("/api/users/" + user.getId()), "{\"role\":\"ADMIN\",\"version\":" + user.getVersion() + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(user.getId()))
+                .andExpect(jsonPath("$.username").value(user.getUsername()))
+                .andExpect(jsonPath("$.role").value("ADMIN"))
+                .andExpect(jsonPath("$.version").value(user.getVersion() + 1));
+    }
+
+    private static MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, String body) {
+        return request.contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    private Post newPost() {
+        return postRepository.save(new Post("Title", "Body", "update-test"));
+    }
+
+    private User newUser() {
+        String name = "u-" + UUID.randomUUID().toString().substring(0, 8);
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("x");
+        user.setRole("USER");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,74 @@
+package backend.Service;
+
+import backend.DTO.UserSummaryDTO;
+import backend.Journal.ChangeJournal;
+import backend.Repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceSummaryCacheTest {
+
+    private UserRepository userRepository;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        userService = new UserService(userRepository, mock(BCryptPasswordEncoder.class), mock(ChangeJournal.class),
+                mock(ActivityRollupService.class), mock(UsernameBloomFilter.class), mock(ActivityFeedService.class), 100);
+    }
+
+    @Test
+    void loadedSummariesAreCached() {
+        when(userRepository.findSummariesByIdIn(anyCollection()))
+                .thenReturn(List.of(new UserSummaryDTO(1L, "alice", "USER")));
+
+        userService.getUserSummaries(List.of(1L));
+        List<UserSummaryDTO> again = userService.getUserSummaries(List.of(1L));
+
+        assertThat(again).extracting(UserSummaryDTO::getUsername).containsExactly("alice");
+        verify(userRepository, times(1)).findSummariesByIdIn(anyCollection());
+    }
+
+    @Test
+    void summaryEvictedDuringItsLoadIsNotCached() {
+        // The row is read, then an update commits and evicts before the lookup caches it
+        when(userRepository.findSummariesByIdIn(anyCollection()))
+                .thenAnswer(invocation -> {
+                    userService.evictSummaries(List.of(1L));
+                    return List.of(new UserSummaryDTO(1L, "old-name", "USER"));
+                })
+                .thenReturn(List.of(new UserSummaryDTO(1L, "new-name", "USER")));
+
+        assertThat(userService.getUserSummaries(List.of(1L)))
+                .extracting(UserSummaryDTO::getUsername).containsExactly("old-name");
+
+        // The stale summary was not kept: the next lookup goes back to the database
+        assertThat(userService.getUserSummaries(List.of(1L)))
+                .extracting(UserSummaryDTO::getUsername).containsExactly("new-name");
+        verify(userRepository, times(2)).findSummariesByIdIn(anyCollection());
+    }
+
+    @Test
+    void evictionDropsACachedSummary() {
+        when(userRepository.findSummariesByIdIn(anyCollection()))
+                .thenReturn(List.of(new UserSummaryDTO(2L, "bob", "USER")))
+                .thenReturn(List.of(new UserSummaryDTO(2L, "bob", "ADMIN")));
+
+        userService.getUserSummaries(List.of(2L));
+        userService.evictSummaries(List.of(2L));
+
+        assertThat(userService.getUserSummaries(List.of(2L)))
+                .extracting(UserSummaryDTO::getRole).containsExactly("ADMIN");
+    }
+}
@@ -0,0 +1,98 @@
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+    Download throughput benchmark for attachments
+
+    Not part of the build or the tests: run it by hand (single-file source
+    launch, no compile step) against a running backend.
+
+    Usage (from backend/):
+      java tools/AttachmentDownloadBenchmark.java <downloadUrl> [threads] [seconds]
+
+    Example:
+      java tools/AttachmentDownloadBenchmark.java http://localhost:8080/api/posts/1/attachments/1 16 20
+
+    Prints requests/s and MB/s for the given number of concurrent clients.
+*/
+public class AttachmentDownloadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.out.println("Usage: AttachmentDownloadBenchmark <downloadUrl> [threads] [seconds]");
+            return;
+        }
+
+        URI url = URI.create(args[0]);
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(url).GET().build();
+
+        LongAdder requests = new LongAdder();
+        LongAdder bytes = new LongAdder();
+        LongAdder errors = new LongAdder();
+
+        // Warm-up (JIT, page cache)
+        for (int i = 0; i < 20; i++) {
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> workers = new ArrayList<>();
+
+        long started = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            workers.add(pool.submit(() -> {
+                byte[] sink = new byte[64 * 1024];
+                while (System.nanoTime() < deadline) {
+                    try {
+                        HttpResponse<InputStream> response =
+                                client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                        long received = 0;
+                        try (InputStream in = response.body()) {
+                            int n;
+                            while ((n = in.read(sink)) != -1) {
+                                received += n;
+                            }
+                        }
+                        if (response.statusCode() != 200) {
+                            errors.increment();
+                        }
+                        requests.increment();
+                        bytes.add(received);
+                    } catch (Exception e) {
+                        errors.increment();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        pool.shutdown();
+
+        double elapsed = (System.nanoTime() - started) / 1e9;
+        System.out.printf("threads=%d time=%.1fs requests=%d errors=%d%n",
+                threads, elapsed, requests.sum(), errors.sum());
+        System.out.printf("%.1f req/s, %.1f MB/s%n",
+                requests.sum() / elapsed, bytes.sum() / elapsed / (1024 * 1024));
+    }
+}
@@ -13,7 +13,8 @@ function CommentSection({ postId }) {
     // Fetch comments SPECIFIC to this post
     useEffect(() => {
         if(postId) {
-            axios.get(`http://localhost:8080/api/comments/post/${postId}`)
+            // includeAuthors: backend fills in authorName with one batch user lookup
+            axios.get(`http://localhost:8080/api/comments/post/${postId}?includeAuthors=true`)
                 .then(res => setComments(res.data.reverse()))
                 .catch(err => console.error("Error fetching comments:", err));
         }
@@ -31,7 +32,7 @@ function CommentSection({ postId }) {
 
         axios.post("http://localhost:8080/api/comments", payload)
             .then(res => {
-                setComments([res.data, ...comments]);
+                setComments([{ ...res.data, authorName: user.username }, ...comments]);
                 setNewComment("");
             })
             .catch(err => console.error("Error posting comment:", err));
@@ -59,7 +60,7 @@ function CommentSection({ postId }) {
              <ListGroup variant="flush">
                 {comments.map((c) => (
                     <ListGroup.Item key={c.id}>
-                        <strong>User #{c.userId}:</strong> {c.content}
+                        <strong>{c.authorName || `User #${c.userId}`}:</strong> {c.content}
                     </ListGroup.Item>
                 ))}
              </ListGroup>
@@ -75,10 +75,19 @@ function Homepage() {
                         <Card key={post.id} className="mb-4 shadow-sm">
                             <Card.Body>
                                 <Card.Title className="h3">{post.title}</Card.Title>
-                                {/* ... (Your existing post metadata and content) ... */}
-                                <Card.Text style={{ whiteSpace: 'pre-wrap' }}>
-                                    {post.content}
-                                </Card.Text>
+                                {post.readingTimeMinutes && (
+                                    <Card.Subtitle className="mb-2 text-muted">
+                                        {post.readingTimeMinutes} min read
+                                    </Card.Subtitle>
+                                )}
+                                {/* contentHtml is rendered and sanitized by the backend when the post is saved */}
+                                {post.contentHtml ? (
+                                    <div className="card-text" dangerouslySetInnerHTML={{ __html: post.contentHtml }} />
+                                ) : (
+                                    <Card.Text style={{ whiteSpace: 'pre-wrap' }}>
+                                        {post.content}
+                                    </Card.Text>
+                                )}
 
                                 <hr />
                                 
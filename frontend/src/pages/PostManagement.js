@@ -78,7 +78,8 @@ function PostManagement() {
             id: post.id,
             title: post.title,
             content: post.content,
-            author: post.author
+            author: post.author,
+            version: post.version // Lets the backend detect concurrent edits (409)
         });
         setError('');
         setShowModal(true);
@@ -116,7 +117,11 @@ function PostManagement() {
                 })
                 .catch((error) => {
                     console.error("Error updating post:", error);
-                    setError('Failed to update post');
+                    if (error.response && error.response.status === 409) {
+                        setError('This post was changed by someone else. Close and reopen it to get the latest version.');
+                    } else {
+                        setError('Failed to update post');
+                    }
                 });
         }
     };
@@ -10,10 +10,33 @@ function RegisterPage() {
     const [email, setEmail] = useState("");
     const [password, setPassword] = useState("");
 
+    // null = not checked yet, true/false = answer from the backend
+    const [usernameAvailable, setUsernameAvailable] = useState(null);
+
     //Get login function and navigate from context and router
     const { login } = useContext(AuthContext);
     const navigate = useNavigate();
 
+    /*
+        Check the username while typing
+        - Waits 300 ms after the last key press
+        - Answered by the backend's in-memory filter most of the time
+    */
+    useEffect(() => {
+        setUsernameAvailable(null);
+        if (!username.trim()) {
+            return;
+        }
+
+        const timer = setTimeout(() => {
+            axios.get("http://localhost:8080/api/users/username-available", { params: { username: username } })
+                .then((response) => setUsernameAvailable(response.data.available))
+                .catch(() => setUsernameAvailable(null));
+        }, 300);
+
+        return () => clearTimeout(timer);
+    }, [username]);
+
     function handleSubmit(event) {
         event.preventDefault();
 
@@ -36,7 +59,11 @@ function RegisterPage() {
             })
             .catch((error) => {
                 console.error("There was an error registering the user!", error);
-                alert("There was an error registering the user!");
+                if (error.response && error.response.status === 409) {
+                    alert(error.response.data);
+                } else {
+                    alert("There was an error registering the user!");
+                }
             });
     }
 
@@ -53,6 +80,12 @@ function RegisterPage() {
           value={username}
           onChange={(e) => setUsername(e.target.value)}
         />
+        {usernameAvailable === false && (
+          <div className="text-danger small mb-2">This username is already taken</div>
+        )}
+        {usernameAvailable === true && (
+          <div className="text-success small mb-2">Username is available</div>
+        )}
 
         <input
           className="form-control mb-2"
@@ -69,7 +102,7 @@ function RegisterPage() {
           onChange={(e) => setPassword(e.target.value)}
         />
 
-        <button className="btn btn-primary">
+        <button className="btn btn-primary" disabled={usernameAvailable === false}>
           Register
         </button>
 
@@ -1,4 +1,4 @@
-import React, { useState, useEffect, useContext } from 'react';
+import React, { useState, useEffect, useContext, useRef } from 'react';
 import axios from 'axios';
 import { Container, Table, Button, Modal, Form, Spinner, Alert } from 'react-bootstrap';
 import { useNavigate } from 'react-router-dom';
@@ -19,9 +19,19 @@ function UserManagement() {
     });
     const [error, setError] = useState('');
 
+    // Server-side filters, sort and keyset paging
+    // filters = what the inputs show, appliedFilters = what the list was fetched with
+    const [filters, setFilters] = useState({ usernamePrefix: '', email: '', role: '' });
+    const [appliedFilters, setAppliedFilters] = useState(filters);
+    const [sort, setSort] = useState({ field: 'id', desc: false });
+    const [nextCursor, setNextCursor] = useState(null);
+
     const { user } = useContext(AuthContext);
     const navigate = useNavigate();
 
+    // Number of the latest list request; answers to older ones are dropped
+    const latestRequest = useRef(0);
+
     /*
         PROTECTION: Check authentication
     */
@@ -33,27 +43,71 @@ function UserManagement() {
     }, [user, navigate]);
 
     /*
-        📊 Fetch all users
+        📊 Fetch one page of users (filtered and sorted by the backend)
+        - after = null → first page (replaces the list)
+        - after = cursor → next page (appended)
+        - A slower answer to an older request (e.g. an earlier filter)
+          arriving late can't overwrite the current list
     */
-    const fetchUsers = () => {
+    const fetchUsers = (after = null) => {
+        const requestNumber = ++latestRequest.current;
         setLoading(true);
-        axios.get("http://localhost:8080/api/users")
+        axios.get("http://localhost:8080/api/users/page", {
+            params: {
+                usernamePrefix: appliedFilters.usernamePrefix || undefined,
+                email: appliedFilters.email || undefined,
+                role: appliedFilters.role || undefined,
+                sort: sort.field,
+                desc: sort.desc,
+                after: after || undefined,
+                limit: 50
+            }
+        })
             .then((response) => {
-                setUsers(response.data);
+                if (requestNumber !== latestRequest.current) {
+                    return;
+                }
+                setUsers((previous) => after ? [...previous, ...response.data.users] : response.data.users);
+                setNextCursor(response.data.nextCursor);
                 setLoading(false);
             })
             .catch((error) => {
+                if (requestNumber !== latestRequest.current) {
+                    return;
+                }
                 console.error("Error fetching users:", error);
                 setError("Failed to load users");
                 setLoading(false);
             });
     };
 
+    /*
+        Apply the filters 300 ms after the last key press,
+        not one request per keystroke
+    */
+    useEffect(() => {
+        const timer = setTimeout(() => setAppliedFilters(filters), 300);
+        return () => clearTimeout(timer);
+    }, [filters]);
+
     useEffect(() => {
         if (user) {
             fetchUsers();
         }
-    }, [user]);
+        // eslint-disable-next-line react-hooks/exhaustive-deps
+    }, [user, appliedFilters, sort]);
+
+    /*
+        Click on a sortable column header: same column flips the direction
+    */
+    const handleSortClick = (field) => {
+        setSort((previous) => ({
+            field: field,
+            desc: previous.field === field ? !previous.desc : false
+        }));
+    };
+
+    const sortArrow = (field) => sort.field === field ? (sort.desc ? ' ▼' : ' ▲') : '';
 
     /*
      OPEN ADD MODAL
@@ -81,7 +135,8 @@ function UserManagement() {
             username: user.username,
             email: user.email,
             password: '', // Don't show existing password
-            role: user.role || 'USER'
+            role: user.role || 'USER',
+            version: user.version // Lets the backend detect concurrent edits (409)
         });
         setError('');
         setShowModal(true);
@@ -112,7 +167,11 @@ function UserManagement() {
                 })
                 .catch((error) => {
                     console.error("Error creating user:", error);
-                    setError('Failed to create user');
+                    if (error.response && error.response.status === 409) {
+                        setError(error.response.data);
+                    } else {
+                        setError('Failed to create user');
+                    }
                 });
         } else {
             //  UPDATE EXISTING USER
@@ -124,7 +183,11 @@ function UserManagement() {
                 })
                 .catch((error) => {
                     console.error("Error updating user:", error);
-                    setError('Failed to update user');
+                    if (error.response && error.response.status === 409) {
+                        setError(error.response.data);
+                    } else {
+                        setError('Failed to update user');
+                    }
                 });
         }
     };
@@ -171,20 +234,50 @@ function UserManagement() {
                 </Button>
             </div>
 
+            {/* Filters */}
+            <Form className="row g-2 mb-3">
+                <div className="col-md-4">
+                    <Form.Control
+                        placeholder="Username starts with..."
+                        value={filters.usernamePrefix}
+                        onChange={(e) => setFilters({...filters, usernamePrefix: e.target.value})}
+                    />
+                </div>
+                <div className="col-md-4">
+                    <Form.Control
+                        type="email"
+                        placeholder="Exact email"
+                        value={filters.email}
+                        onChange={(e) => setFilters({...filters, email: e.target.value})}
+                    />
+                </div>
+                <div className="col-md-4">
+                    <Form.Select
+                        value={filters.role}
+                        onChange={(e) => setFilters({...filters, role: e.target.value})}
+                    >
+                        <option value="">All roles</option>
+                        <option value="USER">USER</option>
+                        <option value="ADMIN">ADMIN</option>
+                    </Form.Select>
+                </div>
+            </Form>
+
             {/* Error Alert */}
             {error && <Alert variant="danger" onClose={() => setError('')} dismissible>{error}</Alert>}
 
             {/* Users Table */}
-            {loading ? (
+            {loading && users.length === 0 ? (
                 <div className="text-center">
                     <Spinner animation="border" />
                 </div>
             ) : (
+                <>
                 <Table striped bordered hover responsive>
                     <thead className="table-dark">
                         <tr>
-                            <th>ID</th>
-                            <th>Username</th>
+                            <th role="button" onClick={() => handleSortClick('id')}>ID{sortArrow('id')}</th>
+                            <th role="button" onClick={() => handleSortClick('username')}>Username{sortArrow('username')}</th>
                             <th>Email</th>
                             <th>Role</th>
                             <th>Actions</th>
@@ -230,6 +323,16 @@ function UserManagement() {
                         )}
                     </tbody>
                 </Table>
+
+                {/* Next page (keyset cursor from the backend) */}
+                {nextCursor && (
+                    <div className="text-center mb-4">
+                        <Button variant="outline-primary" disabled={loading} onClick={() => fetchUsers(nextCursor)}>
+                            {loading ? 'Loading...' : 'Load more'}
+                        </Button>
+                    </div>
+                )}
+                </>
             )}
 
             {/* Add/Edit Modal */}